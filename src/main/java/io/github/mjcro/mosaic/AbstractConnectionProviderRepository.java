@@ -1,17 +1,34 @@
 package io.github.mjcro.mosaic;
 
 import io.github.mjcro.interfaces.sql.ConnectionProvider;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongArrays;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 public abstract class AbstractConnectionProviderRepository<Key extends Enum<Key> & KeySpec> extends AbstractRepository<Key> {
+    /**
+     * Fetch size enabling MySQL Connector/J streaming mode, when rows are read one by one.
+     */
+    public static final int FETCH_SIZE_STREAMING = Integer.MIN_VALUE;
+    /**
+     * Default fetch size, used by streaming reads.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
     protected final ConnectionProvider connectionProvider;
 
     /**
@@ -45,6 +62,22 @@ public abstract class AbstractConnectionProviderRepository<Key extends Enum<Key>
             Map<Class<?>, List<Key>> groupedByClass
     ) throws SQLException;
 
+    /**
+     * Utility method that actually reads data from database without boxing identifiers.
+     * Default implementation adapts {@link #find(Collection, Map)}.
+     *
+     * @param identifiers    Identifiers to read.
+     * @param groupedByClass Type handlers grouped by class.
+     * @return Found data.
+     * @throws SQLException On database error.
+     */
+    protected LongObjectMap<Map<Key, List<Object>>> find(
+            long[] identifiers,
+            Map<Class<?>, List<Key>> groupedByClass
+    ) throws SQLException {
+        return LongObjectMap.copyOf(find(LongArrays.asList(identifiers), groupedByClass));
+    }
+
     /**
      * Fetches data for given single entity identifier.
      *
@@ -99,6 +132,288 @@ public abstract class AbstractConnectionProviderRepository<Key extends Enum<Key>
         return find(identifiers, groupByClass(keys));
     }
 
+    /**
+     * Fetches data for given identifiers without boxing them.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @return Found data.
+     * @throws SQLException On database error.
+     */
+    public LongObjectMap<Map<Key, List<Object>>> findById(long[] identifiers) throws SQLException {
+        return find(identifiers, groupByClass());
+    }
+
+    /**
+     * Fetches partial data for given identifiers without boxing them.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param keys        Keys to read.
+     * @return Found data.
+     * @throws SQLException On database error.
+     */
+    public LongObjectMap<Map<Key, List<Object>>> findById(long[] identifiers, Collection<Key> keys) throws SQLException {
+        return find(identifiers, groupByClass(keys));
+    }
+
+    /**
+     * Fetches data for given identifiers as columns, one per key, without building
+     * per entity maps. Values of type handlers supporting primitive values are returned
+     * as {@link io.github.mjcro.mosaic.util.LongColumn}s, others as
+     * {@link io.github.mjcro.mosaic.util.ObjectColumn}s.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @return Found data, grouped by key. Keys without data are absent.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, Column> findColumnar(long[] identifiers) throws SQLException {
+        return findColumnar(identifiers, allKeys);
+    }
+
+    /**
+     * Fetches partial data for given identifiers as columns, one per key, without building
+     * per entity maps. Values of type handlers supporting primitive values are returned
+     * as {@link io.github.mjcro.mosaic.util.LongColumn}s, others as
+     * {@link io.github.mjcro.mosaic.util.ObjectColumn}s.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param keys        Keys to read.
+     * @return Found data, grouped by key. Keys without data are absent.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, Column> findColumnar(long[] identifiers, Collection<Key> keys) throws SQLException {
+        EnumMap<Key, Column> response = new EnumMap<>(clazz);
+        if (identifiers == null || identifiers.length == 0 || keys == null || keys.isEmpty()) {
+            return response;
+        }
+
+        // Deduplication
+        long[] finalIdentifiers = LongArrays.distinct(identifiers);
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys instanceof Set<?> ? keys : new HashSet<>(keys));
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        connectionProvider.invokeWithConnection(connection -> {
+            for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+                response.putAll(entry.getValue().findColumns(
+                        connection,
+                        tablePrefix,
+                        finalIdentifiers,
+                        groupedByClass.get(entry.getKey())
+                ));
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Reads data for given identifiers entity by entity without
+     * collecting whole response in memory.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param consumer    Consumer to pass entities into.
+     * @throws SQLException On database error.
+     */
+    public void forEachById(Collection<Long> identifiers, EntityConsumer<Key> consumer) throws SQLException {
+        forEachById(identifiers, allKeys, DEFAULT_FETCH_SIZE, consumer);
+    }
+
+    /**
+     * Reads partial data for given identifiers entity by entity without
+     * collecting whole response in memory.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param keys        Keys to read.
+     * @param consumer    Consumer to pass entities into.
+     * @throws SQLException On database error.
+     */
+    public void forEachById(
+            Collection<Long> identifiers,
+            Collection<Key> keys,
+            EntityConsumer<Key> consumer
+    ) throws SQLException {
+        forEachById(identifiers, keys, DEFAULT_FETCH_SIZE, consumer);
+    }
+
+    /**
+     * Reads partial data for given identifiers entity by entity without
+     * collecting whole response in memory.
+     * <p>
+     * All type tables are read over single connection, held until last entity is consumed.
+     * Identifiers are processed in ascending order in windows of fetch size (or
+     * {@link #DEFAULT_FETCH_SIZE} in streaming mode): type tables are read one after another,
+     * so at most one result set is open at a time, and entities of window are passed
+     * to consumer once data from all tables is merged. Entities without data are skipped.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param keys        Keys to read.
+     * @param fetchSize   JDBC fetch size, use {@link #FETCH_SIZE_STREAMING} for MySQL streaming mode.
+     * @param consumer    Consumer to pass entities into.
+     * @throws SQLException On database error.
+     */
+    public void forEachById(
+            Collection<Long> identifiers,
+            Collection<Key> keys,
+            int fetchSize,
+            EntityConsumer<Key> consumer
+    ) throws SQLException {
+        Objects.requireNonNull(consumer, "consumer");
+        if (identifiers == null || identifiers.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        // Deduplication and sorting
+        List<Long> sortedIdentifiers = new ArrayList<>(new TreeSet<>(identifiers));
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys instanceof Set<?> ? keys : new HashSet<>(keys));
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        int windowSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+        connectionProvider.invokeWithConnection(connection -> {
+            for (int from = 0; from < sortedIdentifiers.size(); from += windowSize) {
+                List<Long> window = sortedIdentifiers.subList(
+                        from,
+                        Math.min(sortedIdentifiers.size(), from + windowSize)
+                );
+
+                TreeMap<Long, Map<Key, List<Object>>> entities = new TreeMap<>();
+                for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+                    try (EntityCursor<Key> cursor = entry.getValue().openByLinkId(
+                            connection,
+                            tablePrefix,
+                            window,
+                            groupedByClass.get(entry.getKey()),
+                            fetchSize
+                    )) {
+                        merge(cursor, entities);
+                    }
+                }
+
+                for (Map.Entry<Long, Map<Key, List<Object>>> entity : entities.entrySet()) {
+                    consumer.accept(entity.getKey(), entity.getValue());
+                }
+            }
+        });
+    }
+
+    /**
+     * Merges data from cursor into entities read from other type tables.
+     *
+     * @param cursor   Cursor to read data from.
+     * @param entities Entities, grouped by link identifier.
+     * @throws SQLException On database error.
+     */
+    private void merge(EntityCursor<Key> cursor, Map<Long, Map<Key, List<Object>>> entities) throws SQLException {
+        while (cursor.next()) {
+            Map<Key, List<Object>> combined = entities.get(cursor.getLinkId());
+            if (combined == null) {
+                entities.put(cursor.getLinkId(), cursor.getValues());
+                continue;
+            }
+            if (!(combined instanceof EnumMap<?, ?>)) {
+                Map<Key, List<Object>> copy = newEntity();
+                copy.putAll(combined);
+                combined = copy;
+                entities.put(cursor.getLinkId(), combined);
+            }
+            combined.putAll(cursor.getValues());
+        }
+    }
+
+    /**
+     * Scans all entities having data for any of given keys and passes
+     * them to consumer in batches, ordered by entity identifier.
+     * <p>
+     * Each type table is walked using keyset pagination (identifiers greater than last seen one),
+     * identifiers from all tables are merged and data for each batch is read using {@link #findById(Collection, Collection)},
+     * so memory usage depends only on batch size.
+     *
+     * @param keys      Keys to scan and read.
+     * @param batchSize Maximum amount of entities in single batch.
+     * @param consumer  Consumer to pass batches into.
+     * @throws SQLException On database error.
+     */
+    public void scanAll(Collection<Key> keys, int batchSize, BatchConsumer<Key> consumer) throws SQLException {
+        Objects.requireNonNull(consumer, "consumer");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys instanceof Set<?> ? keys : new HashSet<>(keys));
+
+        // Preparing pagers, one per type handler
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        ArrayList<KeysetPager> pagers = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Key>> entry : groupedByClass.entrySet()) {
+            pagers.add(new KeysetPager(typeHandlers.get(entry.getKey()), entry.getValue(), batchSize));
+        }
+
+        ArrayList<Long> batch = new ArrayList<>(batchSize);
+        while (true) {
+            // Picking smallest identifier among all tables
+            long id = Long.MAX_VALUE;
+            boolean found = false;
+            for (KeysetPager pager : pagers) {
+                if (pager.hasNext() && (!found || pager.peek() < id)) {
+                    id = pager.peek();
+                    found = true;
+                }
+            }
+            if (!found) {
+                break;
+            }
+            for (KeysetPager pager : pagers) {
+                if (pager.hasNext() && pager.peek() == id) {
+                    pager.skip();
+                }
+            }
+
+            batch.add(id);
+            if (batch.size() >= batchSize) {
+                scanBatch(batch, groupedByClass, consumer);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            scanBatch(batch, groupedByClass, consumer);
+        }
+    }
+
+    /**
+     * Reads data for batch of scanned identifiers and passes it to consumer.
+     *
+     * @param batch          Identifiers in ascending order.
+     * @param groupedByClass Keys grouped by class.
+     * @param consumer       Consumer to pass batch into.
+     * @throws SQLException On database error.
+     */
+    private void scanBatch(
+            List<Long> batch,
+            Map<Class<?>, List<Key>> groupedByClass,
+            BatchConsumer<Key> consumer
+    ) throws SQLException {
+        Map<Long, Map<Key, List<Object>>> data = find(batch, groupedByClass);
+        LinkedHashMap<Long, Map<Key, List<Object>>> ordered = new LinkedHashMap<>();
+        for (Long id : batch) {
+            Map<Key, List<Object>> values = data.get(id);
+            if (values != null && !values.isEmpty()) {
+                ordered.put(id, values);
+            }
+        }
+        if (!ordered.isEmpty()) {
+            consumer.accept(ordered);
+        }
+    }
+
     /**
      * Stores given data into database.
      *
@@ -108,6 +423,14 @@ public abstract class AbstractConnectionProviderRepository<Key extends Enum<Key>
      */
     public abstract void store(long id, Map<Key, List<Object>> values) throws SQLException;
 
+    /**
+     * Stores given data of multiple entities into database.
+     *
+     * @param values Data values, grouped by entity identifier.
+     * @throws SQLException On database error.
+     */
+    public abstract void storeAll(Map<Long, Map<Key, List<Object>>> values) throws SQLException;
+
     /**
      * Deletes (partially) data from database.
      *
@@ -124,6 +447,72 @@ public abstract class AbstractConnectionProviderRepository<Key extends Enum<Key>
      * @throws SQLException On database error.
      */
     public void delete(long id) throws SQLException {
-        delete(id, Arrays.stream(clazz.getEnumConstants()).collect(Collectors.toList()));
+        delete(id, allKeys);
+    }
+
+    /**
+     * Deletes (partially) data of multiple entities from database.
+     *
+     * @param ids  Entity identifiers.
+     * @param keys Keys to delete.
+     * @throws SQLException On database error.
+     */
+    public abstract void deleteAll(Collection<Long> ids, Collection<Key> keys) throws SQLException;
+
+    /**
+     * Deletes all data for given entity identifiers.
+     *
+     * @param ids Entity identifiers.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(Collection<Long> ids) throws SQLException {
+        deleteAll(ids, allKeys);
+    }
+
+    /**
+     * Walks single type table using keyset pagination.
+     */
+    private class KeysetPager {
+        private final TypeHandler handler;
+        private final List<Key> keys;
+        private final int pageSize;
+
+        private List<Long> page = Collections.emptyList();
+        private int position = 0;
+        private long lastId = Long.MIN_VALUE;
+        private boolean exhausted = false;
+
+        private KeysetPager(TypeHandler handler, List<Key> keys, int pageSize) {
+            this.handler = handler;
+            this.keys = keys;
+            this.pageSize = pageSize;
+        }
+
+        private boolean hasNext() throws SQLException {
+            if (position < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            connectionProvider.invokeWithConnection(connection -> {
+                page = handler.findLinkIdsAfter(connection, tablePrefix, lastId, keys, pageSize);
+            });
+            position = 0;
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1);
+            }
+            return !page.isEmpty();
+        }
+
+        private long peek() {
+            return page.get(position);
+        }
+
+        private void skip() {
+            position++;
+        }
     }
 }
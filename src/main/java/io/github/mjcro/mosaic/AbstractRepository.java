@@ -1,13 +1,21 @@
 package io.github.mjcro.mosaic;
 
+import io.github.mjcro.mosaic.exceptions.NoSuitableTypeHandlerFoundException;
+import io.github.mjcro.mosaic.util.LongObjectMap;
+
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Base class containing helper methods.
@@ -17,12 +25,23 @@ abstract class AbstractRepository<Key extends Enum<Key> & KeySpec> {
     protected final String tablePrefix;
     protected final TypeHandlerResolver registeredTypes;
 
+    /**
+     * All keys of key class, in declaration order.
+     */
+    protected final Set<Key> allKeys;
+
+    private final Map<Class<?>, List<Key>> allKeysByClass;
+    private final Map<Class<?>, TypeHandler> allTypeHandlers;
+
     /**
      * Constructs data provider.
+     * Keys grouping and type handlers are resolved once, so type handler resolver
+     * must be fully configured at this point.
      *
      * @param typeHandlerResolver Type handler resolver.
      * @param clazz               Key class to work with.
      * @param tablePrefix         Database table prefix.
+     * @throws IllegalArgumentException If type handler for any of key classes is missing.
      */
     protected AbstractRepository(
             TypeHandlerResolver typeHandlerResolver,
@@ -32,6 +51,30 @@ abstract class AbstractRepository<Key extends Enum<Key> & KeySpec> {
         this.registeredTypes = Objects.requireNonNull(typeHandlerResolver, "registeredTypes");
         this.clazz = Objects.requireNonNull(clazz, "clazz");
         this.tablePrefix = Objects.requireNonNull(tablePrefix, "tablePrefix");
+
+        this.allKeys = Collections.unmodifiableSet(EnumSet.allOf(clazz));
+        HashMap<Class<?>, List<Key>> grouped = new HashMap<>();
+        HashMap<Class<?>, TypeHandler> handlers = new HashMap<>();
+        for (Map.Entry<Class<?>, List<Key>> entry : groupByClass(allKeys).entrySet()) {
+            grouped.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            try {
+                handlers.put(entry.getKey(), registeredTypes.resolve(entry.getKey()));
+            } catch (NoSuitableTypeHandlerFoundException e) {
+                throw new IllegalArgumentException(e.getMessage() + " used by " + clazz.getName(), e);
+            }
+        }
+        this.allKeysByClass = Collections.unmodifiableMap(grouped);
+        this.allTypeHandlers = Collections.unmodifiableMap(handlers);
+    }
+
+    /**
+     * Creates map to hold data of single entity. Maps are indexed by key ordinal,
+     * so merging data of different type tables copies arrays instead of hashing.
+     *
+     * @return Empty entity data map.
+     */
+    protected Map<Key, List<Object>> newEntity() {
+        return new EnumMap<>(clazz);
     }
 
     /**
@@ -44,6 +87,10 @@ abstract class AbstractRepository<Key extends Enum<Key> & KeySpec> {
         if (keys == null || keys.isEmpty()) {
             return Collections.emptyMap();
         }
+        if (allKeysByClass != null && keys instanceof Set<?> && keys.size() == allKeys.size()) {
+            // Set containing all keys
+            return allKeysByClass;
+        }
 
         HashMap<Class<?>, List<Key>> grouped = new HashMap<>();
         for (Key key : keys) {
@@ -56,12 +103,32 @@ abstract class AbstractRepository<Key extends Enum<Key> & KeySpec> {
     }
 
     /**
-     * Groups keys by backed class.
+     * Groups all keys by backed class.
      *
-     * @return Map of grouped per class keys.
+     * @return Unmodifiable map of grouped per class keys, computed once.
      */
     protected Map<Class<?>, List<Key>> groupByClass() {
-        return groupByClass(Arrays.asList(clazz.getEnumConstants()));
+        return allKeysByClass;
+    }
+
+    /**
+     * Returns type handlers for given data classes.
+     *
+     * @param classes Data classes.
+     * @return Type handlers, grouped by class. Map must not be modified.
+     * @throws SQLException If type handler not found.
+     */
+    protected Map<Class<?>, TypeHandler> resolveTypeHandlers(Collection<Class<?>> classes) throws SQLException {
+        if (classes.size() == allTypeHandlers.size() && allTypeHandlers.keySet().containsAll(classes)) {
+            return allTypeHandlers;
+        }
+
+        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            TypeHandler handler = allTypeHandlers.get(clazz);
+            typeHandlers.put(clazz, handler == null ? registeredTypes.resolve(clazz) : handler);
+        }
+        return typeHandlers;
     }
 
     /**
@@ -85,4 +152,154 @@ abstract class AbstractRepository<Key extends Enum<Key> & KeySpec> {
         }
         return grouped;
     }
+
+    /**
+     * Groups key value pairs of multiple entities by backed class.
+     *
+     * @param values Values map, grouped by entity identifier.
+     * @return Map of grouped per class entities key value pairs.
+     */
+    protected Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupAllByClass(Map<Long, Map<Key, List<Object>>> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        HashMap<Class<?>, Map<Long, Map<Key, List<Object>>>> grouped = new HashMap<>();
+        for (Map.Entry<Long, Map<Key, List<Object>>> entity : values.entrySet()) {
+            if (entity.getValue() == null || entity.getValue().isEmpty()) {
+                continue;
+            }
+            for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupByClass(entity.getValue()).entrySet()) {
+                if (!grouped.containsKey(entry.getKey())) {
+                    grouped.put(entry.getKey(), new LinkedHashMap<>());
+                }
+                grouped.get(entry.getKey()).put(entity.getKey(), entry.getValue());
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * Reads data of all type tables. When multi-statement mode is enabled,
+     * tables able to prepare their reads are read using single round trip.
+     *
+     * @param connection      Database connection.
+     * @param identifiers     Identifiers to read, without duplicates.
+     * @param groupedByClass  Keys grouped by class.
+     * @param typeHandlers    Type handlers grouped by class.
+     * @param multiStatements If true, multi-statement round trip will be used.
+     * @param combined        Map to merge found data into.
+     * @throws SQLException On database error.
+     */
+    protected void readTables(
+            Connection connection,
+            Collection<Long> identifiers,
+            Map<Class<?>, List<Key>> groupedByClass,
+            Map<Class<?>, TypeHandler> typeHandlers,
+            boolean multiStatements,
+            Map<Long, Map<Key, List<Object>>> combined
+    ) throws SQLException {
+        ArrayList<PreparedRead<Key>> prepared = new ArrayList<>();
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            if (multiStatements && typeHandlers.size() > 1) {
+                PreparedRead<Key> read = entry.getValue().prepareFindByLinkId(
+                        connection,
+                        tablePrefix,
+                        identifiers,
+                        groupedByClass.get(entry.getKey())
+                );
+                if (read != null) {
+                    // Will be read later together with other tables
+                    prepared.add(read);
+                    continue;
+                }
+            }
+
+            merge(combined, entry.getValue().findByLinkId(
+                    connection,
+                    tablePrefix,
+                    identifiers,
+                    groupedByClass.get(entry.getKey())
+            ));
+        }
+
+        // Reading prepared tables using single round trip
+        if (!prepared.isEmpty()) {
+            HashMap<Long, Map<Key, List<Object>>> data = new HashMap<>();
+            PreparedRead.executeAll(connection, prepared, data);
+            merge(combined, data);
+        }
+    }
+
+    /**
+     * Reads data of all type tables one by one without boxing identifiers.
+     *
+     * @param connection     Database connection.
+     * @param identifiers    Identifiers to read, without duplicates.
+     * @param groupedByClass Keys grouped by class.
+     * @param typeHandlers   Type handlers grouped by class.
+     * @param combined       Map to merge found data into.
+     * @throws SQLException On database error.
+     */
+    protected void readTables(
+            Connection connection,
+            long[] identifiers,
+            Map<Class<?>, List<Key>> groupedByClass,
+            Map<Class<?>, TypeHandler> typeHandlers,
+            LongObjectMap<Map<Key, List<Object>>> combined
+    ) throws SQLException {
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            LongObjectMap<Map<Key, List<Object>>> data = entry.getValue().findByLinkId(
+                    connection,
+                    tablePrefix,
+                    identifiers,
+                    groupedByClass.get(entry.getKey())
+            );
+            data.forEach((id, values) -> combined.computeIfAbsent(id, missing -> newEntity()).putAll(values));
+        }
+    }
+
+    /**
+     * Stores data of all type tables using single multi-statement round trip.
+     * Type handlers, not able to prepare statements, store their data separately.
+     *
+     * @param connection     Database connection.
+     * @param groupedByClass Values of multiple entities grouped by class.
+     * @param typeHandlers   Type handlers grouped by class.
+     * @throws SQLException On database error.
+     */
+    protected void storeTables(
+            Connection connection,
+            Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupedByClass,
+            Map<Class<?>, TypeHandler> typeHandlers
+    ) throws SQLException {
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<Long, Map<Key, List<Object>>>> entry : groupedByClass.entrySet()) {
+            TypeHandler handler = typeHandlers.get(entry.getKey());
+            List<PreparedWrite> prepared = handler.prepareStoreAll(connection, tablePrefix, entry.getValue());
+            if (prepared == null) {
+                handler.storeAll(connection, tablePrefix, entry.getValue());
+            } else {
+                writes.addAll(prepared);
+            }
+        }
+        PreparedWrite.executeAll(connection, writes);
+    }
+
+    /**
+     * Merges data read from single type table into combined response.
+     *
+     * @param combined Combined response.
+     * @param data     Data to merge.
+     */
+    protected void merge(Map<Long, Map<Key, List<Object>>> combined, Map<Long, Map<Key, List<Object>>> data) {
+        for (Map.Entry<Long, Map<Key, List<Object>>> datum : data.entrySet()) {
+            Map<Key, List<Object>> entity = combined.get(datum.getKey());
+            if (entity == null) {
+                entity = newEntity();
+                combined.put(datum.getKey(), entity);
+            }
+            entity.putAll(datum.getValue());
+        }
+    }
 }
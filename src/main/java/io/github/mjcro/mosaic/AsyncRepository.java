@@ -0,0 +1,347 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.interfaces.sql.ConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handles data read and write asynchronously using configured type handler resolvers.
+ * <p>
+ * Every method returns immediately with {@link CompletableFuture}. Work for each
+ * type table is run on supplied executor using separate connection, and results
+ * are composed without blocking any thread. Futures complete exceptionally with
+ * {@link CompletionException} wrapping {@link SQLException} on database errors,
+ * or wrapping {@link RejectedExecutionException} if executor does not accept work.
+ */
+public class AsyncRepository<Key extends Enum<Key> & KeySpec> extends AbstractRepository<Key> {
+    private final Executor executor;
+    private final ConnectionProvider connectionProvider;
+
+    /**
+     * Constructs new repository instance.
+     *
+     * @param executor            Executor to run database queries on.
+     * @param connectionProvider  Database connection provider.
+     * @param typeHandlerResolver Type handler resolver.
+     * @param clazz               Key class this repository instance should work with.
+     * @param tablePrefix         Database table prefix.
+     */
+    public AsyncRepository(
+            Executor executor,
+            ConnectionProvider connectionProvider,
+            TypeHandlerResolver typeHandlerResolver,
+            Class<Key> clazz,
+            String tablePrefix
+    ) {
+        super(typeHandlerResolver, clazz, tablePrefix);
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.connectionProvider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+    }
+
+    /**
+     * Fetches data for given single entity identifier.
+     *
+     * @param id Entity identifier.
+     * @return Future with found data. Will contain empty map if no data present.
+     */
+    public CompletableFuture<Map<Key, List<Object>>> findByIdAsync(long id) {
+        return findByIdAsync(Collections.singleton(id)).thenApply(map -> single(map, id));
+    }
+
+    /**
+     * Fetches data for given identifiers.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @return Future with found data.
+     */
+    public CompletableFuture<Map<Long, Map<Key, List<Object>>>> findByIdAsync(Collection<Long> identifiers) {
+        return find(identifiers, groupByClass());
+    }
+
+    /**
+     * Fetches partial data for given single entity identifier.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to read.
+     * @return Future with found data. Will contain empty map if no data present.
+     */
+    public CompletableFuture<Map<Key, List<Object>>> findByIdAsync(long id, Collection<Key> keys) {
+        return findByIdAsync(Collections.singleton(id), keys).thenApply(map -> single(map, id));
+    }
+
+    /**
+     * Fetches partial data for given identifiers.
+     *
+     * @param identifiers Entity identifiers to fetch data for.
+     * @param keys        Keys to read.
+     * @return Future with found data.
+     */
+    public CompletableFuture<Map<Long, Map<Key, List<Object>>>> findByIdAsync(
+            Collection<Long> identifiers,
+            Collection<Key> keys
+    ) {
+        return find(identifiers, groupByClass(keys));
+    }
+
+    /**
+     * Stores given data into database.
+     *
+     * @param id     Identifier of entity data belongs to.
+     * @param values Data values.
+     * @return Future, completed when data is stored in all type tables.
+     */
+    public CompletableFuture<Void> storeAsync(long id, Map<Key, List<Object>> values) {
+        if (values == null || values.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Grouping by class
+        Map<Class<?>, Map<Key, List<Object>>> groupedByClass = groupByClass(values);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers;
+        try {
+            typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        } catch (SQLException e) {
+            return failed(e);
+        }
+
+        ArrayList<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupedByClass.entrySet()) {
+            futures.add(withConnection(connection -> {
+                typeHandlers.get(entry.getKey()).store(
+                        connection,
+                        tablePrefix,
+                        id,
+                        new HashMap<>(entry.getValue())
+                );
+                return null;
+            }));
+        }
+        return allOf(futures);
+    }
+
+    /**
+     * Stores given data of multiple entities into database.
+     *
+     * @param values Data values, grouped by entity identifier.
+     * @return Future, completed when data is stored in all type tables.
+     */
+    public CompletableFuture<Void> storeAllAsync(Map<Long, Map<Key, List<Object>>> values) {
+        if (values == null || values.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Grouping by class
+        Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupedByClass = groupAllByClass(values);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers;
+        try {
+            typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        } catch (SQLException e) {
+            return failed(e);
+        }
+
+        ArrayList<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<Long, Map<Key, List<Object>>>> entry : groupedByClass.entrySet()) {
+            futures.add(withConnection(connection -> {
+                typeHandlers.get(entry.getKey()).storeAll(connection, tablePrefix, entry.getValue());
+                return null;
+            }));
+        }
+        return allOf(futures);
+    }
+
+    /**
+     * Deletes (partially) data from database.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to delete.
+     * @return Future, completed when data is deleted from all type tables.
+     */
+    public CompletableFuture<Void> deleteAsync(long id, Collection<Key> keys) {
+        return deleteAllAsync(Collections.singleton(id), keys);
+    }
+
+    /**
+     * Deletes all data for given entity identifier.
+     *
+     * @param id Entity identifier.
+     * @return Future, completed when data is deleted from all type tables.
+     */
+    public CompletableFuture<Void> deleteAsync(long id) {
+        return deleteAsync(id, allKeys);
+    }
+
+    /**
+     * Deletes (partially) data of multiple entities from database.
+     *
+     * @param ids  Entity identifiers.
+     * @param keys Keys to delete.
+     * @return Future, completed when data is deleted from all type tables.
+     */
+    public CompletableFuture<Void> deleteAllAsync(Collection<Long> ids, Collection<Key> keys) {
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Deduplication
+        Collection<Long> idSet = ids instanceof Set<?>
+                ? ids
+                : new HashSet<>(ids);
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys instanceof Set<?> ? keys : new HashSet<>(keys));
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers;
+        try {
+            typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        } catch (SQLException e) {
+            return failed(e);
+        }
+
+        ArrayList<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            futures.add(withConnection(connection -> {
+                if (idSet.size() == 1) {
+                    entry.getValue().delete(
+                            connection,
+                            tablePrefix,
+                            idSet.iterator().next(),
+                            groupedByClass.get(entry.getKey())
+                    );
+                } else {
+                    entry.getValue().deleteAll(connection, tablePrefix, idSet, groupedByClass.get(entry.getKey()));
+                }
+                return null;
+            }));
+        }
+        return allOf(futures);
+    }
+
+    /**
+     * Deletes all data for given entity identifiers.
+     *
+     * @param ids Entity identifiers.
+     * @return Future, completed when data is deleted from all type tables.
+     */
+    public CompletableFuture<Void> deleteAllAsync(Collection<Long> ids) {
+        return deleteAllAsync(ids, allKeys);
+    }
+
+    /**
+     * Utility method that actually reads data from database.
+     *
+     * @param identifiers    Identifiers to read.
+     * @param groupedByClass Keys grouped by class.
+     * @return Future with found data.
+     */
+    protected CompletableFuture<Map<Long, Map<Key, List<Object>>>> find(
+            Collection<Long> identifiers,
+            Map<Class<?>, List<Key>> groupedByClass
+    ) {
+        if (identifiers == null || identifiers.isEmpty() || groupedByClass.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        // Deduplication
+        Collection<Long> identifierSet = identifiers instanceof Set<?>
+                ? identifiers
+                : new HashSet<>(identifiers);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers;
+        try {
+            typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        } catch (SQLException e) {
+            return failed(e);
+        }
+
+        ArrayList<CompletableFuture<Map<Long, Map<Key, List<Object>>>>> futures = new ArrayList<>();
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            futures.add(withConnection(connection -> entry.getValue().findByLinkId(
+                    connection,
+                    tablePrefix,
+                    identifierSet,
+                    groupedByClass.get(entry.getKey())
+            )));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            // Merging responses, all futures are already completed
+            HashMap<Long, Map<Key, List<Object>>> combined = new HashMap<>();
+            for (CompletableFuture<Map<Long, Map<Key, List<Object>>>> future : futures) {
+                merge(combined, future.join());
+            }
+            return combined;
+        });
+    }
+
+    /**
+     * Runs given function on executor using connection from provider.
+     *
+     * @param function Function to run.
+     * @return Future with function result.
+     */
+    private <T> CompletableFuture<T> withConnection(ConnectionFunction<T> function) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                AtomicReference<T> result = new AtomicReference<>();
+                try {
+                    connectionProvider.invokeWithConnection(connection -> result.set(function.apply(connection)));
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+                return result.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return failed(e);
+        }
+    }
+
+    private static CompletableFuture<Void> allOf(List<CompletableFuture<?>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Returns future, failed same way as futures of {@link #withConnection} do.
+     *
+     * @param e Failure cause.
+     * @return Future, completed exceptionally with {@link CompletionException} wrapping given cause.
+     */
+    private static <T> CompletableFuture<T> failed(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e instanceof CompletionException ? e : new CompletionException(e));
+        return future;
+    }
+
+    private static <Key> Map<Key, List<Object>> single(Map<Long, Map<Key, List<Object>>> map, long id) {
+        Map<Key, List<Object>> data = map.get(id);
+        return data == null ? Collections.emptyMap() : data;
+    }
+
+    /**
+     * Function, that uses database connection.
+     */
+    @FunctionalInterface
+    private interface ConnectionFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.mjcro.mosaic;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives batches of entities, read by scanning repository methods.
+ */
+@FunctionalInterface
+public interface BatchConsumer<Key extends KeySpec> {
+    /**
+     * Accepts batch of entities.
+     *
+     * @param batch Entities data, grouped by entity identifier in ascending order.
+     * @throws SQLException On error, scanning will be stopped.
+     */
+    void accept(Map<Long, Map<Key, List<Object>>> batch) throws SQLException;
+}
@@ -0,0 +1,258 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.interfaces.Decorator;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loader, that collects single entity reads and merges them into one
+ * multi-identifier read of underlying {@link AbstractConnectionProviderRepository}.
+ * <p>
+ * Collected reads are dispatched when batch reaches maximum size, when maximum delay
+ * passes since first read in batch was requested (only if scheduler is configured) or
+ * when {@link #dispatch()} is invoked explicitly. Batch is read using union of all requested
+ * keys, and each caller receives own unmodifiable slice containing only requested keys.
+ */
+public class BatchingLoader<Key extends Enum<Key> & KeySpec>
+        implements Decorator<AbstractConnectionProviderRepository<Key>> {
+    private final AbstractConnectionProviderRepository<Key> decorated;
+    private final ScheduledExecutorService scheduler;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final EnumSet<Key> allKeys;
+
+    private ArrayList<Request<Key>> pending = new ArrayList<>();
+    private ScheduledFuture<?> timer;
+
+    /**
+     * Constructs new loader, dispatching reads when batch is full or explicitly.
+     *
+     * @param decorated    Underlying repository to delegate to. Not nullable.
+     * @param maxBatchSize Maximum amount of reads in single batch.
+     */
+    public BatchingLoader(@NonNull AbstractConnectionProviderRepository<Key> decorated, int maxBatchSize) {
+        this(decorated, null, maxBatchSize, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new loader.
+     *
+     * @param decorated    Underlying repository to delegate to. Not nullable.
+     * @param scheduler    Scheduler used to dispatch batches after delay and to read full batches.
+     *                     Nullable; without it batches are dispatched only when full or explicitly,
+     *                     using calling thread.
+     * @param maxBatchSize Maximum amount of reads in single batch.
+     * @param maxDelay     Maximum time first read in batch waits before batch is dispatched. Not nullable.
+     */
+    public BatchingLoader(
+            @NonNull AbstractConnectionProviderRepository<Key> decorated,
+            @Nullable ScheduledExecutorService scheduler,
+            int maxBatchSize,
+            @NonNull Duration maxDelay
+    ) {
+        this.decorated = Objects.requireNonNull(decorated, "decorated");
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize should be positive");
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay should not be negative");
+        }
+        this.scheduler = scheduler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.allKeys = EnumSet.allOf(decorated.clazz);
+    }
+
+    @Override
+    public @NonNull AbstractConnectionProviderRepository<Key> getDecorated() {
+        return decorated;
+    }
+
+    /**
+     * Requests data for given single entity identifier.
+     *
+     * @param id Entity identifier.
+     * @return Future, completed with found data (empty map if no data present) once batch is read.
+     */
+    public CompletableFuture<Map<Key, List<Object>>> load(long id) {
+        return load(id, allKeys);
+    }
+
+    /**
+     * Requests partial data for given single entity identifier.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to read. Not nullable.
+     * @return Future, completed with found data (empty map if no data present) once batch is read,
+     * or exceptionally if read failed or scheduler rejected it.
+     */
+    public CompletableFuture<Map<Key, List<Object>>> load(long id, @NonNull Collection<Key> keys) {
+        Objects.requireNonNull(keys, "keys");
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        Request<Key> request = new Request<>(id, EnumSet.copyOf(keys));
+        List<Request<Key>> full = null;
+        synchronized (this) {
+            pending.add(request);
+            if (pending.size() >= maxBatchSize) {
+                full = take();
+            } else if (pending.size() == 1 && scheduler != null) {
+                try {
+                    timer = scheduler.schedule(this::dispatch, maxDelayNanos, TimeUnit.NANOSECONDS);
+                } catch (RuntimeException e) {
+                    // Nothing will dispatch this request, so it is failed instead of being left pending
+                    pending.remove(request);
+                    request.future.completeExceptionally(e);
+                    return request.future;
+                }
+            }
+        }
+
+        if (full != null) {
+            if (scheduler != null) {
+                List<Request<Key>> batch = full;
+                try {
+                    scheduler.execute(() -> read(batch));
+                } catch (RuntimeException e) {
+                    fail(batch, e);
+                }
+            } else {
+                read(full);
+            }
+        }
+        return request.future;
+    }
+
+    /**
+     * Reads all collected requests immediately using calling thread.
+     */
+    public void dispatch() {
+        List<Request<Key>> batch;
+        synchronized (this) {
+            batch = take();
+        }
+        read(batch);
+    }
+
+    /**
+     * @return Amount of collected requests, not yet dispatched.
+     */
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    /**
+     * Takes collected requests, must be invoked holding lock.
+     *
+     * @return Collected requests.
+     */
+    private List<Request<Key>> take() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        if (pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ArrayList<Request<Key>> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    /**
+     * Reads data for given requests using single repository call and completes them.
+     *
+     * @param batch Requests to read.
+     */
+    private void read(List<Request<Key>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LinkedHashSet<Long> ids = new LinkedHashSet<>();
+        EnumSet<Key> keys = EnumSet.noneOf(decorated.clazz);
+        for (Request<Key> request : batch) {
+            ids.add(request.id);
+            keys.addAll(request.keys);
+        }
+
+        Map<Long, Map<Key, List<Object>>> data;
+        try {
+            data = decorated.findById(ids, keys);
+        } catch (SQLException | RuntimeException e) {
+            fail(batch, e);
+            return;
+        } catch (Error e) {
+            fail(batch, e);
+            throw e;
+        }
+
+        for (Request<Key> request : batch) {
+            request.future.complete(slice(data.get(request.id), request.keys));
+        }
+    }
+
+    /**
+     * Completes given requests exceptionally.
+     *
+     * @param batch Requests to fail.
+     * @param error Failure cause.
+     */
+    private void fail(List<Request<Key>> batch, Throwable error) {
+        for (Request<Key> request : batch) {
+            request.future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * @param data Entity data, nullable.
+     * @param keys Keys requested by caller.
+     * @return Unmodifiable data for requested keys.
+     */
+    private Map<Key, List<Object>> slice(Map<Key, List<Object>> data, EnumSet<Key> keys) {
+        if (data == null || data.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        EnumMap<Key, List<Object>> slice = new EnumMap<>(decorated.clazz);
+        for (Key key : keys) {
+            List<Object> values = data.get(key);
+            if (values != null) {
+                slice.put(key, Collections.unmodifiableList(new ArrayList<>(values)));
+            }
+        }
+        return Collections.unmodifiableMap(slice);
+    }
+
+    /**
+     * Single caller request.
+     */
+    private static final class Request<Key extends Enum<Key>> {
+        private final long id;
+        private final EnumSet<Key> keys;
+        private final CompletableFuture<Map<Key, List<Object>>> future = new CompletableFuture<>();
+
+        private Request(long id, EnumSet<Key> keys) {
+            this.id = id;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.interfaces.Decorator;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Decorator that caches data read from underlying {@link AbstractConnectionProviderRepository}
+ * in memory, per entity identifier and key.
+ * <p>
+ * Cache is bounded by amount of entities and evicts least recently used ones, every entity
+ * expires after configured time to live. Partial reads are served from cache when previously
+ * loaded keys cover requested ones, otherwise only missing keys are read from database.
+ * Data classes without any data for entity are remembered for shorter negative time to live,
+ * so repeated reads of sparse entities do not query such tables at all.
+ * Every mutating operation invalidates affected entities, and reads started before
+ * invalidation never put their (possibly stale) results into cache.
+ * <p>
+ * Returned maps and lists are unmodifiable. Only operations invoked through this decorator
+ * invalidate cache, writes made bypassing it become visible after time to live.
+ */
+public class CachingRepositoryDecorator<Key extends Enum<Key> & KeySpec>
+        implements Decorator<AbstractConnectionProviderRepository<Key>> {
+    /**
+     * Default time to live of negative entries, remembering that entity has no data of some type.
+     */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private static final int STRIPES = 64;
+
+    private final AbstractConnectionProviderRepository<Key> decorated;
+    private final Set<Key> allKeys;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LinkedHashMap<Long, CachedEntity<Key>> entries;
+    private final long[] stamps = new long[STRIPES];
+
+    /**
+     * Constructs new caching repository decorator.
+     * Negative entries live for {@link #DEFAULT_NEGATIVE_TTL} or given time to live, whichever is shorter.
+     *
+     * @param decorated  Underlying repository to delegate to. Not nullable.
+     * @param maxEntries Maximum amount of entities to keep in cache.
+     * @param ttl        Time to live of cached entity. Not nullable.
+     */
+    public CachingRepositoryDecorator(
+            @NonNull AbstractConnectionProviderRepository<Key> decorated,
+            int maxEntries,
+            @NonNull Duration ttl
+    ) {
+        this(
+                decorated,
+                maxEntries,
+                ttl,
+                ttl != null && ttl.compareTo(DEFAULT_NEGATIVE_TTL) < 0 ? ttl : DEFAULT_NEGATIVE_TTL
+        );
+    }
+
+    /**
+     * Constructs new caching repository decorator.
+     *
+     * @param decorated   Underlying repository to delegate to. Not nullable.
+     * @param maxEntries  Maximum amount of entities to keep in cache.
+     * @param ttl         Time to live of cached entity. Not nullable.
+     * @param negativeTtl Time to live of negative entries, remembering that entity has no data
+     *                    of some type, so corresponding table is not queried. Not nullable.
+     */
+    public CachingRepositoryDecorator(
+            @NonNull AbstractConnectionProviderRepository<Key> decorated,
+            int maxEntries,
+            @NonNull Duration ttl,
+            @NonNull Duration negativeTtl
+    ) {
+        this.decorated = Objects.requireNonNull(decorated, "decorated");
+        Objects.requireNonNull(ttl, "ttl");
+        Objects.requireNonNull(negativeTtl, "negativeTtl");
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries should be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl should be positive");
+        }
+        if (negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("negativeTtl should not be negative");
+        }
+
+        this.allKeys = decorated.allKeys;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = Math.min(ttlNanos, negativeTtl.toNanos());
+        this.entries = new LinkedHashMap<Long, CachedEntity<Key>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedEntity<Key>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public @NonNull AbstractConnectionProviderRepository<Key> getDecorated() {
+        return decorated;
+    }
+
+    /**
+     * Fetches data for given single entity identifier, using cache when possible.
+     *
+     * @param id Entity identifier.
+     * @return Found data. Will return empty map if no data present. Not nullable.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, List<Object>> findById(long id) throws SQLException {
+        return findById(id, allKeys);
+    }
+
+    /**
+     * Fetches data for given identifiers, using cache when possible.
+     *
+     * @param identifiers Entity identifiers to fetch data for. Not nullable.
+     * @return Found data, grouped by identifier. Not nullable.
+     * @throws SQLException On database error.
+     */
+    public Map<Long, Map<Key, List<Object>>> findById(Collection<Long> identifiers) throws SQLException {
+        return findById(identifiers, allKeys);
+    }
+
+    /**
+     * Fetches partial data for given single entity identifier, using cache when possible.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to read. Not nullable.
+     * @return Found data. Will return empty map if no data present. Not nullable.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, List<Object>> findById(long id, Collection<Key> keys) throws SQLException {
+        Map<Key, List<Object>> data = findById(Collections.singleton(id), keys).get(id);
+        return data == null ? Collections.emptyMap() : data;
+    }
+
+    /**
+     * Fetches partial data for given identifiers, using cache when possible.
+     *
+     * @param identifiers Entity identifiers to fetch data for. Not nullable.
+     * @param keys        Keys to read. Not nullable.
+     * @return Found data, grouped by identifier. Not nullable.
+     * @throws SQLException On database error.
+     */
+    public Map<Long, Map<Key, List<Object>>> findById(Collection<Long> identifiers, Collection<Key> keys) throws SQLException {
+        Objects.requireNonNull(identifiers, "identifiers");
+        Objects.requireNonNull(keys, "keys");
+        if (identifiers.isEmpty() || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        EnumSet<Key> requested = EnumSet.copyOf(keys);
+        HashMap<Long, Map<Key, List<Object>>> response = new HashMap<>();
+
+        // Reading cache
+        HashMap<Long, CachedEntity<Key>> partial = new HashMap<>();
+        HashMap<Long, Long> stampsBefore = new HashMap<>();
+        HashSet<Long> seen = new HashSet<>();
+        EnumSet<Key> missingKeys = EnumSet.noneOf(decorated.clazz);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            for (Long id : identifiers) {
+                if (!seen.add(id)) {
+                    continue; // Duplicate
+                }
+                CachedEntity<Key> entry = entries.get(id);
+                if (entry != null && entry.isExpired(now)) {
+                    entries.remove(id);
+                    entry = null;
+                }
+                if (entry != null && entry.covers(requested, now)) {
+                    Map<Key, List<Object>> slice = entry.slice(requested);
+                    if (!slice.isEmpty()) {
+                        response.put(id, slice);
+                    }
+                    continue;
+                }
+
+                if (entry == null) {
+                    missingKeys.addAll(requested);
+                } else {
+                    partial.put(id, entry);
+                    for (Key key : requested) {
+                        if (!entry.covers(key, now)) {
+                            missingKeys.add(key);
+                        }
+                    }
+                }
+                stampsBefore.put(id, stamps[stripe(id)]);
+            }
+        }
+
+        if (stampsBefore.isEmpty()) {
+            return Collections.unmodifiableMap(response);
+        }
+
+        // Reading missing data from database
+        ArrayList<Long> missingIds = new ArrayList<>(stampsBefore.keySet());
+        Map<Long, Map<Key, List<Object>>> fetched = decorated.findById(missingIds, missingKeys);
+
+        now = System.nanoTime();
+        synchronized (entries) {
+            for (Long id : missingIds) {
+                Map<Key, List<Object>> data = fetched.get(id);
+                CachedEntity<Key> previous = partial.get(id);
+                CachedEntity<Key> entry = previous == null
+                        ? new CachedEntity<>(decorated.clazz, now + ttlNanos)
+                        : previous;
+                entry = entry.merge(missingKeys, data, now + negativeTtlNanos);
+
+                if (stamps[stripe(id)] == stampsBefore.get(id)) {
+                    // No writes happened since read started
+                    CachedEntity<Key> current = entries.get(id);
+                    if (current == null || current == previous) {
+                        entries.put(id, entry);
+                    }
+                }
+
+                Map<Key, List<Object>> slice = entry.slice(requested);
+                if (!slice.isEmpty()) {
+                    response.put(id, slice);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(response);
+    }
+
+    /**
+     * Stores given data into database and invalidates cached entity.
+     *
+     * @param id     Identifier of entity data belongs to.
+     * @param values Data values to persist. Nullable; null or empty maps are skipped.
+     * @throws SQLException On database error.
+     */
+    public void store(long id, @Nullable Map<Key, List<Object>> values) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().store(id, values);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Stores given data of multiple entities into database and invalidates cached entities.
+     *
+     * @param values Data values, grouped by entity identifier. Nullable; null or empty maps are skipped.
+     * @throws SQLException On database error.
+     */
+    public void storeAll(@Nullable Map<Long, Map<Key, List<Object>>> values) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().storeAll(values);
+        } finally {
+            invalidate(values.keySet());
+        }
+    }
+
+    /**
+     * Deletes selected data for given entity identifier and invalidates cached entity.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to delete. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void delete(long id, @Nullable Collection<Key> keys) throws SQLException {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().delete(id, keys);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Deletes all data for given entity identifier and invalidates cached entity.
+     *
+     * @param id Entity identifier.
+     * @throws SQLException On database error.
+     */
+    public void delete(long id) throws SQLException {
+        try {
+            getDecorated().delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Deletes selected data of multiple entities and invalidates cached entities.
+     *
+     * @param ids  Entity identifiers. Nullable; null or empty collections are skipped.
+     * @param keys Keys to delete. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(@Nullable Collection<Long> ids, @Nullable Collection<Key> keys) throws SQLException {
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().deleteAll(ids, keys);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    /**
+     * Deletes all data of multiple entities and invalidates cached entities.
+     *
+     * @param ids Entity identifiers. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(@Nullable Collection<Long> ids) throws SQLException {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().deleteAll(ids);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    /**
+     * Removes entity from cache.
+     *
+     * @param id Entity identifier.
+     */
+    public void invalidate(long id) {
+        synchronized (entries) {
+            stamps[stripe(id)]++;
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Removes entities from cache.
+     *
+     * @param ids Entity identifiers. Not nullable.
+     */
+    public void invalidate(@NonNull Collection<Long> ids) {
+        synchronized (entries) {
+            for (Long id : ids) {
+                stamps[stripe(id)]++;
+                entries.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Removes all entities from cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (int i = 0; i < STRIPES; i++) {
+                stamps[i]++;
+            }
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return Amount of entities currently in cache, including expired ones not yet evicted.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+
+    /**
+     * Immutable cached entity data.
+     * <p>
+     * Keys of data classes, that had data for entity, are kept as loaded until entity expires.
+     * Keys of data classes without any data are kept as negative entries with shorter
+     * time to live, so entity data can appear in such tables soon.
+     */
+    private static final class CachedEntity<Key extends Enum<Key> & KeySpec> {
+        private final EnumMap<Key, List<Object>> values;
+        private final EnumSet<Key> loaded;
+        private final EnumMap<Key, Long> negative;
+        private final long expiresAt;
+
+        private CachedEntity(Class<Key> clazz, long expiresAt) {
+            this(new EnumMap<>(clazz), EnumSet.noneOf(clazz), new EnumMap<>(clazz), expiresAt);
+        }
+
+        private CachedEntity(
+                EnumMap<Key, List<Object>> values,
+                EnumSet<Key> loaded,
+                EnumMap<Key, Long> negative,
+                long expiresAt
+        ) {
+            this.values = values;
+            this.loaded = loaded;
+            this.negative = negative;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        /**
+         * @param key Key to check.
+         * @param now Current time in nanoseconds.
+         * @return True if key data (or its absence) is known.
+         */
+        private boolean covers(Key key, long now) {
+            if (loaded.contains(key)) {
+                return true;
+            }
+            Long negativeUntil = negative.get(key);
+            return negativeUntil != null && now - negativeUntil < 0;
+        }
+
+        /**
+         * @param keys Keys to check.
+         * @param now  Current time in nanoseconds.
+         * @return True if data (or absence) of all keys is known.
+         */
+        private boolean covers(Collection<Key> keys, long now) {
+            for (Key key : keys) {
+                if (!covers(key, now)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Creates new entry with given keys loaded.
+         * Expiration time is kept, so older data is not kept longer than time to live.
+         *
+         * @param keys          Keys, that were read.
+         * @param data          Read data, nullable.
+         * @param negativeUntil Expiration time of negative entries for data classes without data.
+         * @return New entry.
+         */
+        private CachedEntity<Key> merge(Collection<Key> keys, Map<Key, List<Object>> data, long negativeUntil) {
+            // Detecting data classes having data
+            HashSet<Class<?>> nonEmpty = new HashSet<>();
+            if (data != null) {
+                for (Map.Entry<Key, List<Object>> entry : data.entrySet()) {
+                    if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+                        nonEmpty.add(entry.getKey().getDataClass());
+                    }
+                }
+            }
+
+            EnumMap<Key, List<Object>> values = new EnumMap<>(this.values);
+            EnumSet<Key> loaded = EnumSet.copyOf(this.loaded);
+            EnumMap<Key, Long> negative = new EnumMap<>(this.negative);
+            for (Key key : keys) {
+                List<Object> list = data == null ? null : data.get(key);
+                if (list == null || list.isEmpty()) {
+                    values.remove(key);
+                } else {
+                    values.put(key, Collections.unmodifiableList(new ArrayList<>(list)));
+                }
+
+                if (nonEmpty.contains(key.getDataClass())) {
+                    loaded.add(key);
+                    negative.remove(key);
+                } else {
+                    loaded.remove(key);
+                    negative.put(key, negativeUntil);
+                }
+            }
+            return new CachedEntity<>(values, loaded, negative, expiresAt);
+        }
+
+        /**
+         * @param keys Keys to return.
+         * @return Unmodifiable data for given keys.
+         */
+        private Map<Key, List<Object>> slice(Collection<Key> keys) {
+            if (values.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            EnumMap<Key, List<Object>> slice = new EnumMap<>(values);
+            slice.keySet().retainAll(keys);
+            return Collections.unmodifiableMap(slice);
+        }
+    }
+}
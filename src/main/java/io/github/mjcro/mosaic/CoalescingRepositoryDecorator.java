@@ -0,0 +1,383 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.interfaces.Decorator;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Decorator that deduplicates concurrent reads of the same entity and key set.
+ * <p>
+ * First thread requesting data (leader) reads it from underlying repository, while other
+ * threads requesting same entity and keys at the same time (followers) wait for leader's
+ * result instead of issuing own queries. All callers receive same immutable data.
+ * Multi-identifier reads are coalesced per identifier, so they can both lead and follow.
+ * <p>
+ * Mutating operations are forwarded directly and detach in-flight reads of affected
+ * entities, so reads started after the write never join reads started before it.
+ * Works with any {@link AbstractConnectionProviderRepository} subclass, including
+ * {@link Repository} and {@link ParallelRepository}.
+ */
+public class CoalescingRepositoryDecorator<Key extends Enum<Key> & KeySpec>
+        implements Decorator<AbstractConnectionProviderRepository<Key>> {
+    private final AbstractConnectionProviderRepository<Key> decorated;
+    private final EnumSet<Key> allKeys;
+    private final ConcurrentHashMap<Flight<Key>, CompletableFuture<Map<Key, List<Object>>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new coalescing repository decorator.
+     *
+     * @param decorated Underlying repository to delegate to. Not nullable.
+     */
+    public CoalescingRepositoryDecorator(@NonNull AbstractConnectionProviderRepository<Key> decorated) {
+        this.decorated = Objects.requireNonNull(decorated, "decorated");
+        this.allKeys = EnumSet.allOf(decorated.clazz);
+    }
+
+    @Override
+    public @NonNull AbstractConnectionProviderRepository<Key> getDecorated() {
+        return decorated;
+    }
+
+    /**
+     * Fetches data for given single entity identifier, joining in-flight read if any.
+     *
+     * @param id Entity identifier.
+     * @return Found data. Will return empty map if no data present. Not nullable, unmodifiable.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, List<Object>> findById(long id) throws SQLException {
+        return findById(id, allKeys);
+    }
+
+    /**
+     * Fetches data for given identifiers, joining in-flight reads if any.
+     *
+     * @param identifiers Entity identifiers to fetch data for. Not nullable.
+     * @return Found data, grouped by identifier. Not nullable, unmodifiable.
+     * @throws SQLException On database error.
+     */
+    public Map<Long, Map<Key, List<Object>>> findById(Collection<Long> identifiers) throws SQLException {
+        return findById(identifiers, allKeys);
+    }
+
+    /**
+     * Fetches partial data for given single entity identifier, joining in-flight read if any.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to read. Not nullable.
+     * @return Found data. Will return empty map if no data present. Not nullable, unmodifiable.
+     * @throws SQLException On database error.
+     */
+    public Map<Key, List<Object>> findById(long id, Collection<Key> keys) throws SQLException {
+        Objects.requireNonNull(keys, "keys");
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Flight<Key> flight = new Flight<>(id, EnumSet.copyOf(keys));
+        CompletableFuture<Map<Key, List<Object>>> future = new CompletableFuture<>();
+        CompletableFuture<Map<Key, List<Object>>> existing = inFlight.putIfAbsent(flight, future);
+        if (existing != null) {
+            // Following
+            return await(existing);
+        }
+
+        // Leading
+        try {
+            Map<Key, List<Object>> data = immutableCopy(decorated.findById(id, flight.keys));
+            future.complete(data);
+            return data;
+        } catch (Throwable e) {
+            // Errors are passed to followers too, so they never wait for completion forever
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, future);
+        }
+    }
+
+    /**
+     * Fetches partial data for given identifiers, joining in-flight reads if any.
+     * Identifiers, that are not being read at the moment, are read using single request.
+     *
+     * @param identifiers Entity identifiers to fetch data for. Not nullable.
+     * @param keys        Keys to read. Not nullable.
+     * @return Found data, grouped by identifier. Not nullable, unmodifiable.
+     * @throws SQLException On database error.
+     */
+    public Map<Long, Map<Key, List<Object>>> findById(Collection<Long> identifiers, Collection<Key> keys) throws SQLException {
+        Objects.requireNonNull(identifiers, "identifiers");
+        Objects.requireNonNull(keys, "keys");
+        if (identifiers.isEmpty() || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        EnumSet<Key> keySet = EnumSet.copyOf(keys);
+        LinkedHashMap<Flight<Key>, CompletableFuture<Map<Key, List<Object>>>> leading = new LinkedHashMap<>();
+        LinkedHashMap<Long, CompletableFuture<Map<Key, List<Object>>>> following = new LinkedHashMap<>();
+        for (Long id : identifiers) {
+            Flight<Key> flight = new Flight<>(id, keySet);
+            if (leading.containsKey(flight) || following.containsKey(id)) {
+                continue; // Duplicate
+            }
+            CompletableFuture<Map<Key, List<Object>>> future = new CompletableFuture<>();
+            CompletableFuture<Map<Key, List<Object>>> existing = inFlight.putIfAbsent(flight, future);
+            if (existing == null) {
+                leading.put(flight, future);
+            } else {
+                following.put(id, existing);
+            }
+        }
+
+        HashMap<Long, Map<Key, List<Object>>> response = new HashMap<>();
+        if (!leading.isEmpty()) {
+            ArrayList<Long> ids = new ArrayList<>(leading.size());
+            for (Flight<Key> flight : leading.keySet()) {
+                ids.add(flight.id);
+            }
+
+            try {
+                Map<Long, Map<Key, List<Object>>> fetched = decorated.findById(ids, keySet);
+                for (Map.Entry<Flight<Key>, CompletableFuture<Map<Key, List<Object>>>> entry : leading.entrySet()) {
+                    Map<Key, List<Object>> data = immutableCopy(fetched.get(entry.getKey().id));
+                    entry.getValue().complete(data);
+                    if (!data.isEmpty()) {
+                        response.put(entry.getKey().id, data);
+                    }
+                }
+            } catch (Throwable e) {
+                for (CompletableFuture<Map<Key, List<Object>>> future : leading.values()) {
+                    future.completeExceptionally(e);
+                }
+                throw e;
+            } finally {
+                for (Map.Entry<Flight<Key>, CompletableFuture<Map<Key, List<Object>>>> entry : leading.entrySet()) {
+                    inFlight.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        for (Map.Entry<Long, CompletableFuture<Map<Key, List<Object>>>> entry : following.entrySet()) {
+            Map<Key, List<Object>> data = await(entry.getValue());
+            if (!data.isEmpty()) {
+                response.put(entry.getKey(), data);
+            }
+        }
+        return Collections.unmodifiableMap(response);
+    }
+
+    /**
+     * Stores given data into database.
+     *
+     * @param id     Identifier of entity data belongs to.
+     * @param values Data values to persist. Nullable; null or empty maps are skipped.
+     * @throws SQLException On database error.
+     */
+    public void store(long id, @Nullable Map<Key, List<Object>> values) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().store(id, values);
+        } finally {
+            detach(Collections.singleton(id));
+        }
+    }
+
+    /**
+     * Stores given data of multiple entities into database.
+     *
+     * @param values Data values, grouped by entity identifier. Nullable; null or empty maps are skipped.
+     * @throws SQLException On database error.
+     */
+    public void storeAll(@Nullable Map<Long, Map<Key, List<Object>>> values) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().storeAll(values);
+        } finally {
+            detach(values.keySet());
+        }
+    }
+
+    /**
+     * Deletes selected data for given entity identifier.
+     *
+     * @param id   Entity identifier.
+     * @param keys Keys to delete. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void delete(long id, @Nullable Collection<Key> keys) throws SQLException {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().delete(id, keys);
+        } finally {
+            detach(Collections.singleton(id));
+        }
+    }
+
+    /**
+     * Deletes all data for given entity identifier.
+     *
+     * @param id Entity identifier.
+     * @throws SQLException On database error.
+     */
+    public void delete(long id) throws SQLException {
+        try {
+            getDecorated().delete(id);
+        } finally {
+            detach(Collections.singleton(id));
+        }
+    }
+
+    /**
+     * Deletes selected data of multiple entities.
+     *
+     * @param ids  Entity identifiers. Nullable; null or empty collections are skipped.
+     * @param keys Keys to delete. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(@Nullable Collection<Long> ids, @Nullable Collection<Key> keys) throws SQLException {
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().deleteAll(ids, keys);
+        } finally {
+            detach(ids);
+        }
+    }
+
+    /**
+     * Deletes all data of multiple entities.
+     *
+     * @param ids Entity identifiers. Nullable; null or empty collections are skipped.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(@Nullable Collection<Long> ids) throws SQLException {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        try {
+            getDecorated().deleteAll(ids);
+        } finally {
+            detach(ids);
+        }
+    }
+
+    /**
+     * @return Amount of reads in flight.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Detaches in-flight reads of given entities, so new reads will not join them.
+     *
+     * @param ids Entity identifiers.
+     */
+    private void detach(Collection<Long> ids) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        Set<Long> idSet = ids instanceof Set<?> ? (Set<Long>) ids : new HashSet<>(ids);
+        inFlight.keySet().removeIf(flight -> idSet.contains(flight.id));
+    }
+
+    /**
+     * Waits for leader's result.
+     *
+     * @param future Leader's future.
+     * @return Read data.
+     * @throws SQLException If leader failed or waiting was interrupted.
+     */
+    private static <Key> Map<Key, List<Object>> await(CompletableFuture<Map<Key, List<Object>>> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for in-flight read", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                throw new SQLException(
+                        sqlException.getMessage(),
+                        sqlException.getSQLState(),
+                        sqlException.getErrorCode(),
+                        sqlException
+                );
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * @param data Data to copy, nullable.
+     * @return Unmodifiable deep copy of given data.
+     */
+    private Map<Key, List<Object>> immutableCopy(Map<Key, List<Object>> data) {
+        if (data == null || data.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        EnumMap<Key, List<Object>> copy = new EnumMap<>(decorated.clazz);
+        for (Map.Entry<Key, List<Object>> entry : data.entrySet()) {
+            copy.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(entry.getValue().toArray())));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Identifies read: entity identifier and requested keys.
+     */
+    private static final class Flight<Key extends Enum<Key>> {
+        private final long id;
+        private final EnumSet<Key> keys;
+
+        private Flight(long id, EnumSet<Key> keys) {
+            this.id = id;
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Flight<?> flight = (Flight<?>) o;
+            return id == flight.id && keys.equals(flight.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(id) + keys.hashCode();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.mjcro.mosaic;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives entities, read by streaming repository methods.
+ */
+@FunctionalInterface
+public interface EntityConsumer<Key extends KeySpec> {
+    /**
+     * Accepts single entity data.
+     *
+     * @param id     Entity identifier.
+     * @param values Entity data, merged from all type tables.
+     * @throws SQLException On error, reading will be stopped.
+     */
+    void accept(long id, Map<Key, List<Object>> values) throws SQLException;
+}
@@ -0,0 +1,72 @@
+package io.github.mjcro.mosaic;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Forward-only cursor over entities data, read from single type table.
+ * Entities are returned in ascending link identifier order.
+ */
+public interface EntityCursor<Key extends KeySpec> extends AutoCloseable {
+    /**
+     * Moves cursor to next entity.
+     *
+     * @return True if cursor points to next entity, false if there are no more entities.
+     * @throws SQLException On database error.
+     */
+    boolean next() throws SQLException;
+
+    /**
+     * @return Link identifier of current entity.
+     */
+    long getLinkId();
+
+    /**
+     * @return Data of current entity.
+     */
+    Map<Key, List<Object>> getValues();
+
+    @Override
+    void close() throws SQLException;
+
+    /**
+     * Constructs cursor over already read data.
+     *
+     * @param data Data, grouped by link identifier.
+     * @return Cursor.
+     */
+    static <Key extends KeySpec> EntityCursor<Key> of(Map<Long, Map<Key, List<Object>>> data) {
+        Iterator<Map.Entry<Long, Map<Key, List<Object>>>> iterator = new TreeMap<>(
+                Objects.requireNonNull(data, "data")
+        ).entrySet().iterator();
+
+        return new EntityCursor<Key>() {
+            private Map.Entry<Long, Map<Key, List<Object>>> current;
+
+            @Override
+            public boolean next() {
+                current = iterator.hasNext() ? iterator.next() : null;
+                return current != null;
+            }
+
+            @Override
+            public long getLinkId() {
+                return current.getKey();
+            }
+
+            @Override
+            public Map<Key, List<Object>> getValues() {
+                return current.getValue();
+            }
+
+            @Override
+            public void close() {
+                current = null;
+            }
+        };
+    }
+}
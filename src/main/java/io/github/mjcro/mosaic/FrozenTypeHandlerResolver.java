@@ -0,0 +1,97 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.exceptions.NoSuitableTypeHandlerFoundException;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Immutable type handler resolver, produced by {@link TypeHandlerResolverMap#freeze()}.
+ * Thread safe and lock free.
+ * <p>
+ * Classes without own type handler are resolved using handler of closest superclass,
+ * or, if none found, handler of implemented interface. For example, {@link java.sql.Timestamp}
+ * will be resolved using handler registered for {@link java.util.Date}. Resolution is performed
+ * once per class and cached using {@link ClassValue}.
+ */
+public final class FrozenTypeHandlerResolver implements TypeHandlerResolver {
+    private final Map<Type, TypeHandler> map;
+    private final ClassValue<TypeHandler> resolved = new ClassValue<TypeHandler>() {
+        @Override
+        protected TypeHandler computeValue(Class<?> type) {
+            return lookup(map, type);
+        }
+    };
+
+    /**
+     * Constructs immutable resolver.
+     *
+     * @param map Type handlers, copied.
+     */
+    FrozenTypeHandlerResolver(Map<Type, TypeHandler> map) {
+        this.map = Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    @Override
+    public TypeHandler resolve(Type type) throws NoSuitableTypeHandlerFoundException {
+        TypeHandler typeHandler = null;
+        if (type instanceof Class<?>) {
+            typeHandler = resolved.get((Class<?>) type);
+        } else if (type != null) {
+            typeHandler = map.get(type);
+            if (typeHandler == null && type instanceof ParameterizedType) {
+                typeHandler = resolve(((ParameterizedType) type).getRawType());
+            }
+        }
+        if (typeHandler == null) {
+            throw new NoSuitableTypeHandlerFoundException(type);
+        }
+        return typeHandler;
+    }
+
+    /**
+     * Searches type handler for given class within class hierarchy.
+     * Superclasses are checked first, starting from given class itself, then interfaces
+     * in breadth first order.
+     *
+     * @param map   Registered type handlers.
+     * @param clazz Class to resolve.
+     * @return Type handler or null if not found.
+     */
+    static TypeHandler lookup(Map<Type, TypeHandler> map, Class<?> clazz) {
+        TypeHandler typeHandler = map.get(clazz);
+        if (typeHandler != null) {
+            return typeHandler;
+        }
+
+        for (Class<?> c = clazz.getSuperclass(); c != null; c = c.getSuperclass()) {
+            typeHandler = map.get(c);
+            if (typeHandler != null) {
+                return typeHandler;
+            }
+        }
+
+        ArrayDeque<Class<?>> queue = new ArrayDeque<>();
+        HashSet<Class<?>> visited = new HashSet<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            Collections.addAll(queue, c.getInterfaces());
+        }
+        while (!queue.isEmpty()) {
+            Class<?> c = queue.poll();
+            if (!visited.add(c)) {
+                continue;
+            }
+            typeHandler = map.get(c);
+            if (typeHandler != null) {
+                return typeHandler;
+            }
+            Collections.addAll(queue, c.getInterfaces());
+        }
+        return null;
+    }
+}
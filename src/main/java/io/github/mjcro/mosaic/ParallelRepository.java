@@ -13,18 +13,22 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles data read and write using configured type handler resolvers.
  */
 public class ParallelRepository<Key extends Enum<Key> & KeySpec> extends AbstractConnectionProviderRepository<Key> {
     private final ExecutorService executorService;
+    private final int shardSize;
+    private final int maxInFlight;
 
     /**
      * Constructs new repository instance.
@@ -41,9 +45,41 @@ public class ParallelRepository<Key extends Enum<Key> & KeySpec> extends Abstrac
             TypeHandlerResolver typeHandlerResolver,
             Class<Key> clazz,
             String tablePrefix
+    ) {
+        this(executorService, connectionProvider, typeHandlerResolver, clazz, tablePrefix, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs new repository instance, that splits large reads of single table
+     * into id range shards, read concurrently using separate connections.
+     *
+     * @param executorService     Executor service to use to parallel queries.
+     * @param connectionProvider  Database connection provider.
+     * @param typeHandlerResolver Type handler resolver.
+     * @param clazz               Key class this repository instance should work with.
+     * @param tablePrefix         Database table prefix.
+     * @param shardSize           Maximum amount of identifiers read from single table using one connection.
+     * @param maxInFlight         Maximum amount of concurrently running queries (and used connections) per operation.
+     */
+    public ParallelRepository(
+            ExecutorService executorService,
+            ConnectionProvider connectionProvider,
+            TypeHandlerResolver typeHandlerResolver,
+            Class<Key> clazz,
+            String tablePrefix,
+            int shardSize,
+            int maxInFlight
     ) {
         super(connectionProvider, typeHandlerResolver, clazz, tablePrefix);
         this.executorService = Objects.requireNonNull(executorService, "executorService");
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("shardSize should be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight should be positive");
+        }
+        this.shardSize = shardSize;
+        this.maxInFlight = maxInFlight;
     }
 
     /**
@@ -58,33 +94,45 @@ public class ParallelRepository<Key extends Enum<Key> & KeySpec> extends Abstrac
         Map<Class<?>, Map<Key, List<Object>>> groupedByClass = groupByClass(values);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
-        }
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
 
-        ArrayList<Future<?>> futures = new ArrayList<>();
+        ArrayList<ConnectionConsumer> tasks = new ArrayList<>();
         for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupedByClass.entrySet()) {
-            Future<?> future = executorService.submit(() -> {
-                try {
-                    connectionProvider.invokeWithConnection(connection -> {
-                        typeHandlers.get(entry.getKey()).store(
-                                connection,
-                                tablePrefix,
-                                id,
-                                new HashMap<>(entry.getValue())
-                        );
-                    });
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
+            tasks.add(connection -> {
+                typeHandlers.get(entry.getKey()).store(
+                        connection,
+                        tablePrefix,
+                        id,
+                        new HashMap<>(entry.getValue())
+                );
             });
-            futures.add(future);
         }
 
-        // Waiting for futures to complete
-        waitAll(futures);
+        // Running tasks and waiting for them to complete
+        invokeAll(tasks);
+    }
+
+    @Override
+    public void storeAll(Map<Long, Map<Key, List<Object>>> values) throws SQLException {
+        // Grouping by class
+        Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupedByClass = groupAllByClass(values);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        ArrayList<ConnectionConsumer> tasks = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<Long, Map<Key, List<Object>>>> entry : groupedByClass.entrySet()) {
+            tasks.add(connection -> {
+                typeHandlers.get(entry.getKey()).storeAll(
+                        connection,
+                        tablePrefix,
+                        entry.getValue()
+                );
+            });
+        }
+
+        // Running tasks and waiting for them to complete
+        invokeAll(tasks);
     }
 
     @Override
@@ -102,50 +150,35 @@ public class ParallelRepository<Key extends Enum<Key> & KeySpec> extends Abstrac
                 : new HashSet<>(identifiers);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
-        }
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        Queue<Map<Long, Map<Key, List<Object>>>> responses = new ConcurrentLinkedQueue<>();
 
-        BlockingQueue<Map<Long, Map<Key, List<Object>>>> responses = new LinkedBlockingQueue<>();
+        // Splitting identifiers into id range shards
+        List<Collection<Long>> shards = shard(identifierSet);
 
-        ArrayList<Future<?>> futures = new ArrayList<>();
+        ArrayList<ConnectionConsumer> tasks = new ArrayList<>();
         for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
-            Future<?> future = executorService.submit(() -> {
-                try {
-                    connectionProvider.invokeWithConnection(connection -> {
-                        Map<Long, Map<Key, List<Object>>> data = entry.getValue().findByLinkId(
-                                connection,
-                                tablePrefix,
-                                identifierSet,
-                                groupedByClass.get(entry.getKey())
-                        );
-                        try {
-                            responses.put(data);
-                        } catch (InterruptedException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            futures.add(future);
+            for (Collection<Long> shard : shards) {
+                tasks.add(connection -> {
+                    Map<Long, Map<Key, List<Object>>> data = entry.getValue().findByLinkId(
+                            connection,
+                            tablePrefix,
+                            shard,
+                            groupedByClass.get(entry.getKey())
+                    );
+                    responses.add(data);
+                });
+            }
         }
 
-        // Waiting for futures to complete
-        waitAll(futures);
+        // Running tasks and waiting for them to complete
+        invokeAll(tasks);
 
         // Merging responses
         HashMap<Long, Map<Key, List<Object>>> combined = new HashMap<>();
         for (Map<Long, Map<Key, List<Object>>> data : responses) {
-            for (Map.Entry<Long, Map<Key, List<Object>>> datum : data.entrySet()) {
-                if (!combined.containsKey(datum.getKey())) {
-                    combined.put(datum.getKey(), new HashMap<>());
-                }
-                combined.get(datum.getKey()).putAll(datum.getValue());
-            }
+            merge(combined, data);
         }
 
         return combined;
@@ -166,48 +199,180 @@ public class ParallelRepository<Key extends Enum<Key> & KeySpec> extends Abstrac
         Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        ArrayList<ConnectionConsumer> tasks = new ArrayList<>();
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            tasks.add(connection -> {
+                entry.getValue().delete(connection, tablePrefix, id, groupedByClass.get(entry.getKey()));
+            });
         }
 
-        ArrayList<Future<?>> futures = new ArrayList<>();
+        // Running tasks and waiting for them to complete
+        invokeAll(tasks);
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> ids, Collection<Key> keys) throws SQLException {
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        // Deduplication
+        Collection<Long> idSet = ids instanceof Set<?>
+                ? ids
+                : new HashSet<>(ids);
+        keys = keys instanceof Set<?>
+                ? keys
+                : new HashSet<>(keys);
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        ArrayList<ConnectionConsumer> tasks = new ArrayList<>();
         for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
-            Future<?> future = executorService.submit(() -> {
-                try {
-                    connectionProvider.invokeWithConnection(connection -> {
-                        entry.getValue().delete(connection, tablePrefix, id, groupedByClass.get(entry.getKey()));
-                    });
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
+            tasks.add(connection -> {
+                entry.getValue().deleteAll(connection, tablePrefix, idSet, groupedByClass.get(entry.getKey()));
             });
-            futures.add(future);
         }
 
-        // Waiting for futures to complete
-        waitAll(futures);
+        // Running tasks and waiting for them to complete
+        invokeAll(tasks);
+    }
+
+    /**
+     * Splits given identifiers into shards of contiguous id ranges.
+     *
+     * @param identifiers Identifiers to split.
+     * @return Shards, not exceeding configured shard size.
+     */
+    private List<Collection<Long>> shard(Collection<Long> identifiers) {
+        if (identifiers.size() <= shardSize) {
+            return Collections.singletonList(identifiers);
+        }
+
+        ArrayList<Long> sorted = new ArrayList<>(identifiers);
+        Collections.sort(sorted);
+        ArrayList<Collection<Long>> shards = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += shardSize) {
+            shards.add(sorted.subList(from, Math.min(from + shardSize, sorted.size())));
+        }
+        return shards;
     }
 
     /**
-     * Waits for all futures to complete.
+     * Runs given tasks, each using own connection, and waits for them to complete.
+     * <p>
+     * Tasks are taken from shared list by at most {@code maxInFlight} lanes, one of them
+     * is run using calling thread and others are submitted to executor service. Once calling
+     * thread runs out of tasks, it cancels lanes not started yet and waits only for tasks
+     * claimed by other lanes, so it never waits for executor service to schedule idle lanes.
+     * If executor service rejects lane, remaining tasks are run by started lanes.
+     * <p>
+     * First failure stops lanes from taking further tasks and is thrown immediately.
+     * Tasks already running are not interrupted, they keep their connections until finished.
      *
-     * @param futures Futures to wait.
+     * @param tasks Tasks to run.
+     * @throws SQLException On database error in any of tasks.
      */
-    private void waitAll(List<Future<?>> futures) {
+    private void invokeAll(List<ConnectionConsumer> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        if (tasks.size() == 1) {
+            connectionProvider.invokeWithConnection(tasks.get(0));
+            return;
+        }
+
+        // Submitting all lanes except first one
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        int lanes = Math.min(tasks.size(), maxInFlight);
+        ArrayList<CompletableFuture<Void>> futures = new ArrayList<>(lanes - 1);
+        for (int i = 1; i < lanes; i++) {
+            try {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        drain(tasks, next, completed, completion);
+                    } catch (SQLException e) {
+                        // Already reported using completion
+                    }
+                }, executorService));
+            } catch (RejectedExecutionException e) {
+                // Saturated executor, remaining tasks are run by started lanes
+                break;
+            }
+        }
+
+        // Running first lane using calling thread
+        try {
+            drain(tasks, next, completed, completion);
+        } finally {
+            cancelAll(futures);
+        }
+
+        // Waiting for tasks claimed by other lanes or first failure
         try {
-            for (Future<?> future : futures) {
-                future.get();
+            completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for parallel queries", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Runs tasks one by one, until there are no more tasks left or any lane has failed.
+     *
+     * @param tasks      Tasks to run.
+     * @param next       Index of next task to run, shared between lanes.
+     * @param completed  Amount of completed tasks, shared between lanes.
+     * @param completion Future, completed when all tasks are completed or exceptionally on first failure.
+     * @throws SQLException On database error.
+     */
+    private void drain(
+            List<ConnectionConsumer> tasks,
+            AtomicInteger next,
+            AtomicInteger completed,
+            CompletableFuture<Void> completion
+    ) throws SQLException {
+        int i;
+        while (!completion.isDone() && (i = next.getAndIncrement()) < tasks.size()) {
+            try {
+                connectionProvider.invokeWithConnection(tasks.get(i));
+            } catch (SQLException | RuntimeException | Error e) {
+                completion.completeExceptionally(e);
+                throw e;
             }
-        } catch (InterruptedException | ExecutionException e) {
-            // Freeing other futures (that may not be started yet)
-            for (Future<?> future : futures) {
-                if (!future.isDone() && !future.isCancelled()) {
-                    future.cancel(false);
-                }
+            if (completed.incrementAndGet() == tasks.size()) {
+                completion.complete(null);
             }
-            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Cancels lanes, that are not started yet. Running lanes are not interrupted.
+     *
+     * @param futures Lanes to cancel.
+     */
+    private static void cancelAll(List<CompletableFuture<Void>> futures) {
+        for (CompletableFuture<Void> future : futures) {
+            future.cancel(false);
         }
     }
 }
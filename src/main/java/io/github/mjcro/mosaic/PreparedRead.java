@@ -0,0 +1,95 @@
+package io.github.mjcro.mosaic;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read of single type table, split into SQL text, placeholder binding and result decoding,
+ * so multiple reads can be sent to database together.
+ */
+public interface PreparedRead<Key extends KeySpec> {
+    /**
+     * @return SELECT statement, without trailing delimiter.
+     */
+    String getSql();
+
+    /**
+     * Binds placeholder values of this read.
+     *
+     * @param stmt   Statement to bind values to.
+     * @param offset Index of first placeholder of this read.
+     * @return Index of next placeholder, after ones used by this read.
+     * @throws SQLException On database error.
+     */
+    int bind(PreparedStatement stmt, int offset) throws SQLException;
+
+    /**
+     * Decodes result set of this read.
+     *
+     * @param rs       Result set to read.
+     * @param response Map to put found data into.
+     * @throws SQLException On database error.
+     */
+    void read(ResultSet rs, Map<Long, Map<Key, List<Object>>> response) throws SQLException;
+
+    /**
+     * Executes given reads using single multi-statement round trip.
+     * Requires database driver to allow multiple queries (for MySQL
+     * Connector/J {@code allowMultiQueries=true}) and to return multiple result sets.
+     * Result sets are matched to reads in order, update counts are skipped.
+     *
+     * @param connection Database connection.
+     * @param reads      Reads to execute.
+     * @param response   Map to put found data into.
+     * @throws SQLException On database error.
+     */
+    static <Key extends KeySpec> void executeAll(
+            Connection connection,
+            List<PreparedRead<Key>> reads,
+            Map<Long, Map<Key, List<Object>>> response
+    ) throws SQLException {
+        if (reads.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (PreparedRead<Key> read : reads) {
+            if (sb.length() > 0) {
+                sb.append(";\n");
+            }
+            sb.append(read.getSql());
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+            int offset = 1;
+            for (PreparedRead<Key> read : reads) {
+                offset = read.bind(stmt, offset);
+            }
+
+            // Walking all results, skipping update counts, until both are exhausted
+            int index = 0;
+            boolean hasResultSet = stmt.execute();
+            while (hasResultSet || stmt.getUpdateCount() != -1) {
+                if (hasResultSet) {
+                    if (index >= reads.size()) {
+                        throw new SQLException("Expected " + reads.size() + " result sets from multi-statement read, got more");
+                    }
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        reads.get(index++).read(rs, response);
+                    }
+                }
+                hasResultSet = stmt.getMoreResults();
+            }
+            if (index < reads.size()) {
+                throw new SQLException(
+                        "Expected " + reads.size() + " result sets from multi-statement read, got " + index
+                                + ", database driver should support multiple result sets"
+                );
+            }
+        }
+    }
+}
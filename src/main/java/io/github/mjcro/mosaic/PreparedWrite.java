@@ -0,0 +1,114 @@
+package io.github.mjcro.mosaic;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Single data modification statement, split into SQL text and placeholder binding,
+ * so multiple statements can be sent to database together.
+ */
+public interface PreparedWrite {
+    /**
+     * @return Data modification statement, without trailing delimiter.
+     */
+    String getSql();
+
+    /**
+     * Binds placeholder values of this statement.
+     *
+     * @param stmt   Statement to bind values to.
+     * @param offset Index of first placeholder of this statement.
+     * @return Index of next placeholder, after ones used by this statement.
+     * @throws SQLException On database error.
+     */
+    int bind(PreparedStatement stmt, int offset) throws SQLException;
+
+    /**
+     * Executes this statement alone.
+     *
+     * @param connection Database connection.
+     * @throws SQLException On database error.
+     */
+    default void execute(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(getSql())) {
+            bind(stmt, 1);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Executes given statements in order using single multi-statement round trip.
+     * Requires database driver to allow multiple queries (for MySQL
+     * Connector/J {@code allowMultiQueries=true}).
+     *
+     * @param connection Database connection.
+     * @param writes     Statements to execute.
+     * @throws SQLException On database error.
+     */
+    static void executeAll(Connection connection, List<PreparedWrite> writes) throws SQLException {
+        if (writes.isEmpty()) {
+            return;
+        }
+        if (writes.size() == 1) {
+            writes.get(0).execute(connection);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (PreparedWrite write : writes) {
+            if (sb.length() > 0) {
+                sb.append(";\n");
+            }
+            sb.append(write.getSql());
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+            int offset = 1;
+            for (PreparedWrite write : writes) {
+                offset = write.bind(stmt, offset);
+            }
+
+            // Consuming all update counts, so errors of any statement are reported
+            boolean hasResultSet = stmt.execute();
+            while (hasResultSet || stmt.getUpdateCount() != -1) {
+                hasResultSet = stmt.getMoreResults();
+            }
+        }
+    }
+
+    /**
+     * Executes given statements in order, sending consecutive statements with identical
+     * SQL text as single JDBC batch. Does not require multiple queries support, but
+     * MySQL Connector/J needs {@code rewriteBatchedStatements=true} to send batch
+     * in one round trip.
+     *
+     * @param connection Database connection.
+     * @param writes     Statements to execute.
+     * @throws SQLException On database error.
+     */
+    static void executeBatched(Connection connection, List<PreparedWrite> writes) throws SQLException {
+        int from = 0;
+        while (from < writes.size()) {
+            String sql = writes.get(from).getSql();
+            int to = from + 1;
+            while (to < writes.size() && sql.equals(writes.get(to).getSql())) {
+                to++;
+            }
+
+            if (to - from == 1) {
+                writes.get(from).execute(connection);
+            } else {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (PreparedWrite write : writes.subList(from, to)) {
+                        write.bind(stmt, 1);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            from = to;
+        }
+    }
+}
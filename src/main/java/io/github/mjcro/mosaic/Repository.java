@@ -1,7 +1,10 @@
 package io.github.mjcro.mosaic;
 
 import io.github.mjcro.interfaces.sql.ConnectionProvider;
+import io.github.mjcro.mosaic.util.LongArrays;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
@@ -15,6 +18,8 @@ import java.util.Set;
  * Handles data read and write using configured type handler resolvers.
  */
 public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnectionProviderRepository<Key> {
+    private final boolean multiStatements;
+
     /**
      * Constructs new repository instance.
      *
@@ -28,8 +33,55 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
             TypeHandlerResolver typeHandlerResolver,
             Class<Key> clazz,
             String tablePrefix
+    ) {
+        this(connectionProvider, typeHandlerResolver, clazz, tablePrefix, false);
+    }
+
+    /**
+     * Constructs new repository instance.
+     *
+     * @param connectionProvider  Database connection provider.
+     * @param typeHandlerResolver Type handler resolver.
+     * @param clazz               Key class this repository instance should work with.
+     * @param tablePrefix         Database table prefix.
+     * @param multiStatements     If true, statements of all type tables are sent to database together
+     *                            using single round trip. Requires database driver to allow multiple
+     *                            queries (for MySQL Connector/J {@code allowMultiQueries=true}).
+     * @throws IllegalArgumentException If multi-statement mode is requested, but database driver
+     *                                  does not support multiple result sets.
+     */
+    public Repository(
+            ConnectionProvider connectionProvider,
+            TypeHandlerResolver typeHandlerResolver,
+            Class<Key> clazz,
+            String tablePrefix,
+            boolean multiStatements
     ) {
         super(connectionProvider, typeHandlerResolver, clazz, tablePrefix);
+        this.multiStatements = multiStatements;
+        if (multiStatements) {
+            verifyMultipleResultSets(connectionProvider);
+        }
+    }
+
+    /**
+     * Verifies that database driver is able to return multiple result sets,
+     * so multi-statement reads do not fail on first use.
+     *
+     * @param connectionProvider Database connection provider.
+     */
+    private static void verifyMultipleResultSets(ConnectionProvider connectionProvider) {
+        boolean supported;
+        try (Connection connection = connectionProvider.getConnection()) {
+            supported = connection.getMetaData().supportsMultipleResultSets();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to verify multiple result sets support", e);
+        }
+        if (!supported) {
+            throw new IllegalArgumentException(
+                    "Database driver does not support multiple result sets, required by multi-statement mode"
+            );
+        }
     }
 
     @Override
@@ -42,10 +94,16 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
         Map<Class<?>, Map<Key, List<Object>>> groupedByClass = groupByClass(values);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        if (multiStatements) {
+            // Storing all type tables using single round trip
+            HashMap<Class<?>, Map<Long, Map<Key, List<Object>>>> grouped = new HashMap<>();
+            for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupedByClass.entrySet()) {
+                grouped.put(entry.getKey(), Collections.singletonMap(id, entry.getValue()));
+            }
+            connectionProvider.invokeWithConnection(connection -> storeTables(connection, grouped, typeHandlers));
+            return;
         }
 
         connectionProvider.invokeWithConnection(connection -> {
@@ -60,6 +118,35 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
         });
     }
 
+    @Override
+    public void storeAll(Map<Long, Map<Key, List<Object>>> values) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+
+        // Grouping by class
+        Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupedByClass = groupAllByClass(values);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        if (multiStatements) {
+            // Storing all type tables using single round trip
+            connectionProvider.invokeWithConnection(connection -> storeTables(connection, groupedByClass, typeHandlers));
+            return;
+        }
+
+        connectionProvider.invokeWithConnection(connection -> {
+            for (Map.Entry<Class<?>, Map<Long, Map<Key, List<Object>>>> entry : groupedByClass.entrySet()) {
+                typeHandlers.get(entry.getKey()).storeAll(
+                        connection,
+                        tablePrefix,
+                        entry.getValue()
+                );
+            }
+        });
+    }
+
     @Override
     protected Map<Long, Map<Key, List<Object>>> find(
             Collection<Long> identifiers,
@@ -68,36 +155,55 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
         if (identifiers == null || identifiers.isEmpty()) {
             return Collections.emptyMap();
         }
+        if (!multiStatements) {
+            // Thin adapter over primitive read
+            return find(LongArrays.of(identifiers), groupedByClass).asMap();
+        }
 
         // Deduplication
         Collection<Long> finalIdentifiers = identifiers instanceof Set<?>
                 ? identifiers
                 : new HashSet<>(identifiers);
 
-        // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
+        HashMap<Long, Map<Key, List<Object>>> combined = new HashMap<>();
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        connectionProvider.invokeWithConnection(connection -> readTables(
+                connection,
+                finalIdentifiers,
+                groupedByClass,
+                typeHandlers,
+                true,
+                combined
+        ));
+
+        return combined;
+    }
+
+    @Override
+    protected LongObjectMap<Map<Key, List<Object>>> find(
+            long[] identifiers,
+            Map<Class<?>, List<Key>> groupedByClass
+    ) throws SQLException {
+        if (identifiers == null || identifiers.length == 0) {
+            return new LongObjectMap<>();
+        }
+        if (multiStatements) {
+            // Multi-statement reads are collected into boxed maps
+            return super.find(identifiers, groupedByClass);
         }
 
-        HashMap<Long, Map<Key, List<Object>>> combined = new HashMap<>();
-        connectionProvider.invokeWithConnection(connection -> {
-            for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
-                Map<Long, Map<Key, List<Object>>> data = entry.getValue().findByLinkId(
-                        connection,
-                        tablePrefix,
-                        finalIdentifiers,
-                        groupedByClass.get(entry.getKey())
-                );
-                for (Map.Entry<Long, Map<Key, List<Object>>> datum : data.entrySet()) {
-                    if (!combined.containsKey(datum.getKey())) {
-                        combined.put(datum.getKey(), new HashMap<>());
-                    }
-                    combined.get(datum.getKey()).putAll(datum.getValue());
-                }
-            }
-        });
+        // Deduplication
+        long[] finalIdentifiers = LongArrays.distinct(identifiers);
+
+        LongObjectMap<Map<Key, List<Object>>> combined = new LongObjectMap<>(finalIdentifiers.length);
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+        connectionProvider.invokeWithConnection(connection -> readTables(
+                connection,
+                finalIdentifiers,
+                groupedByClass,
+                typeHandlers,
+                combined
+        ));
 
         return combined;
     }
@@ -117,11 +223,7 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
         Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
-        }
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
 
         connectionProvider.invokeWithConnection(connection -> {
             for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
@@ -129,4 +231,31 @@ public class Repository<Key extends Enum<Key> & KeySpec> extends AbstractConnect
             }
         });
     }
+
+    @Override
+    public void deleteAll(Collection<Long> ids, Collection<Key> keys) throws SQLException {
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        // Deduplication
+        Collection<Long> finalIds = ids instanceof Set<?>
+                ? ids
+                : new HashSet<>(ids);
+        keys = keys instanceof Set<?>
+                ? keys
+                : new HashSet<>(keys);
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        connectionProvider.invokeWithConnection(connection -> {
+            for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+                entry.getValue().deleteAll(connection, tablePrefix, finalIds, groupedByClass.get(entry.getKey()));
+            }
+        });
+    }
 }
@@ -2,7 +2,6 @@ package io.github.mjcro.mosaic;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,7 +10,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Handles data read and write using configured type handler resolvers.
@@ -19,6 +17,8 @@ import java.util.stream.Collectors;
  * within transaction isolation context.
  */
 public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends AbstractRepository<Key> {
+    private final boolean multiStatements;
+
     /**
      * Constructs data provider.
      *
@@ -30,8 +30,30 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
             TypeHandlerResolver typeHandlerResolver,
             Class<Key> clazz,
             String tablePrefix
+    ) {
+        this(typeHandlerResolver, clazz, tablePrefix, false);
+    }
+
+    /**
+     * Constructs data provider.
+     *
+     * @param typeHandlerResolver Type handler resolver.
+     * @param clazz               Key class to work with.
+     * @param tablePrefix         Database table prefix.
+     * @param multiStatements     If true, statements of all type tables are sent to database together
+     *                            using single round trip. Requires database driver to allow multiple
+     *                            queries (for MySQL Connector/J {@code allowMultiQueries=true}) and
+     *                            to return multiple result sets. Connections are supplied per call,
+     *                            so support is not verified up front.
+     */
+    public TransactionalRepository(
+            TypeHandlerResolver typeHandlerResolver,
+            Class<Key> clazz,
+            String tablePrefix,
+            boolean multiStatements
     ) {
         super(typeHandlerResolver, clazz, tablePrefix);
+        this.multiStatements = multiStatements;
     }
 
     /**
@@ -52,10 +74,16 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
         Map<Class<?>, Map<Key, List<Object>>> groupedByClass = groupByClass(values);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        if (multiStatements) {
+            // Storing all type tables using single round trip
+            HashMap<Class<?>, Map<Long, Map<Key, List<Object>>>> grouped = new HashMap<>();
+            for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupedByClass.entrySet()) {
+                grouped.put(entry.getKey(), Collections.singletonMap(id, entry.getValue()));
+            }
+            storeTables(connection, grouped, typeHandlers);
+            return;
         }
 
         for (Map.Entry<Class<?>, Map<Key, List<Object>>> entry : groupedByClass.entrySet()) {
@@ -68,6 +96,40 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
         }
     }
 
+    /**
+     * Stores given data of multiple entities into database.
+     *
+     * @param connection Database connection to use.
+     * @param values     Data values, grouped by entity identifier.
+     * @throws SQLException On database error.
+     */
+    public void storeAll(Connection connection, Map<Long, Map<Key, List<Object>>> values) throws SQLException {
+        Objects.requireNonNull(connection, "connection");
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+
+        // Grouping by class
+        Map<Class<?>, Map<Long, Map<Key, List<Object>>>> groupedByClass = groupAllByClass(values);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        if (multiStatements) {
+            // Storing all type tables using single round trip
+            storeTables(connection, groupedByClass, typeHandlers);
+            return;
+        }
+
+        for (Map.Entry<Class<?>, Map<Long, Map<Key, List<Object>>>> entry : groupedByClass.entrySet()) {
+            typeHandlers.get(entry.getKey()).storeAll(
+                    connection,
+                    tablePrefix,
+                    entry.getValue()
+            );
+        }
+    }
+
     /**
      * Fetches data for given single entity identifier.
      *
@@ -155,27 +217,10 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
         }
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
-        }
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
 
         HashMap<Long, Map<Key, List<Object>>> combined = new HashMap<>();
-        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
-            Map<Long, Map<Key, List<Object>>> data = entry.getValue().findByLinkId(
-                    connection,
-                    tablePrefix,
-                    identifiers,
-                    groupedByClass.get(entry.getKey())
-            );
-            for (Map.Entry<Long, Map<Key, List<Object>>> datum : data.entrySet()) {
-                if (!combined.containsKey(datum.getKey())) {
-                    combined.put(datum.getKey(), new HashMap<>());
-                }
-                combined.get(datum.getKey()).putAll(datum.getValue());
-            }
-        }
+        readTables(connection, identifiers, groupedByClass, typeHandlers, multiStatements, combined);
 
         return combined;
     }
@@ -204,11 +249,7 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
         Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
 
         // Preparing type handlers and verifying that they are present
-        HashMap<Class<?>, TypeHandler> typeHandlers = new HashMap<>();
-        for (Class<?> clazz : groupedByClass.keySet()) {
-            TypeHandler handler = registeredTypes.resolve(clazz);
-            typeHandlers.put(clazz, handler);
-        }
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
 
         for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
             entry.getValue().delete(connection, tablePrefix, id, groupedByClass.get(entry.getKey()));
@@ -223,6 +264,50 @@ public class TransactionalRepository<Key extends Enum<Key> & KeySpec> extends Ab
      * @throws SQLException On database error.
      */
     public void delete(Connection connection, long id) throws SQLException {
-        delete(connection, id, Arrays.stream(clazz.getEnumConstants()).collect(Collectors.toList()));
+        delete(connection, id, allKeys);
+    }
+
+    /**
+     * Deletes (partially) data of multiple entities from database.
+     *
+     * @param connection Database connection to use.
+     * @param ids        Entity identifiers.
+     * @param keys       Keys to delete.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(Connection connection, Collection<Long> ids, Collection<Key> keys) throws SQLException {
+        Objects.requireNonNull(connection, "connection");
+        if (ids == null || ids.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        // Deduplication
+        ids = ids instanceof Set<?>
+                ? ids
+                : new HashSet<>(ids);
+        keys = keys instanceof Set<?>
+                ? keys
+                : new HashSet<>(keys);
+
+        // Grouping by class
+        Map<Class<?>, List<Key>> groupedByClass = groupByClass(keys);
+
+        // Preparing type handlers and verifying that they are present
+        Map<Class<?>, TypeHandler> typeHandlers = resolveTypeHandlers(groupedByClass.keySet());
+
+        for (Map.Entry<Class<?>, TypeHandler> entry : typeHandlers.entrySet()) {
+            entry.getValue().deleteAll(connection, tablePrefix, ids, groupedByClass.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Deletes all data for given entity identifiers.
+     *
+     * @param connection Database connection to use.
+     * @param ids        Entity identifiers.
+     * @throws SQLException On database error.
+     */
+    public void deleteAll(Connection connection, Collection<Long> ids) throws SQLException {
+        deleteAll(connection, ids, allKeys);
     }
 }
@@ -1,7 +1,13 @@
 package io.github.mjcro.mosaic;
 
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongArrays;
+import io.github.mjcro.mosaic.util.LongColumn;
+import io.github.mjcro.mosaic.util.LongObjectMap;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +33,139 @@ public interface TypeHandler {
             Collection<Key> keys
     ) throws SQLException;
 
+    /**
+     * Fetches data from database without boxing link identifiers.
+     * Default implementation adapts {@link #findByLinkId(Connection, String, Collection, Collection)}.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers.
+     * @param keys        Keys to read.
+     * @return Matched records.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
+            Connection connection,
+            String tablePrefix,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return LongObjectMap.copyOf(findByLinkId(connection, tablePrefix, LongArrays.asList(linkIds), keys));
+    }
+
+    /**
+     * Fetches data from database as columns, one per key. Columns are primitive
+     * ({@link io.github.mjcro.mosaic.util.LongColumn}) where supported.
+     * Default implementation adapts {@link #findByLinkId(Connection, String, long[], Collection)}.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers.
+     * @param keys        Keys to read.
+     * @return Columns of matched records, keys without data are absent.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> Map<Key, Column> findColumns(
+            Connection connection,
+            String tablePrefix,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return Column.of(findByLinkId(connection, tablePrefix, linkIds, keys));
+    }
+
+    /**
+     * Fetches data from database as primitive columns, one per key.
+     * Thin adapter over {@link #findColumns}, verifying that all columns are primitive.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers.
+     * @param keys        Keys to read.
+     * @return Columns of matched records, keys without data are absent.
+     * @throws SQLException On database error or if type handler does not support primitive values.
+     */
+    @SuppressWarnings("unchecked")
+    default <Key extends KeySpec> Map<Key, LongColumn> findLongColumns(
+            Connection connection,
+            String tablePrefix,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        Map<Key, Column> columns = findColumns(connection, tablePrefix, linkIds, keys);
+        for (Column column : columns.values()) {
+            if (!(column instanceof LongColumn)) {
+                throw new SQLFeatureNotSupportedException("Type handler " + getClass().getName() + " does not support primitive columns");
+            }
+        }
+        return (Map<Key, LongColumn>) (Map<Key, ?>) columns;
+    }
+
+    /**
+     * Prepares read of given link identifiers, that can be executed together
+     * with reads of other type handlers using {@link PreparedRead#executeAll}.
+     * Default implementation is not supported and returns null.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers.
+     * @param keys        Keys to read.
+     * @return Prepared read or null if data can not be read using single statement.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Connection connection,
+            String tablePrefix,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Opens cursor over data of given link identifiers.
+     * Default implementation reads all data using {@link #findByLinkId}.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers, sorted in ascending order without duplicates.
+     * @param keys        Keys to read.
+     * @param fetchSize   JDBC fetch size hint.
+     * @return Cursor, returning entities in ascending link identifier order.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Connection connection,
+            String tablePrefix,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return EntityCursor.of(findByLinkId(connection, tablePrefix, linkIds, keys));
+    }
+
+    /**
+     * Finds link identifiers having data for any of given keys, used for keyset pagination.
+     * Default implementation is not supported.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param afterLinkId Only link identifiers greater than this one are returned.
+     * @param keys        Keys to look for.
+     * @param limit       Maximum amount of link identifiers to return.
+     * @return Distinct link identifiers in ascending order.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tablePrefix,
+            long afterLinkId,
+            Collection<Key> keys,
+            int limit
+    ) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Type handler " + getClass().getName() + " does not support scanning");
+    }
+
     /**
      * Stores data.
      *
@@ -43,6 +182,44 @@ public interface TypeHandler {
             Map<? extends KeySpec, List<Object>> values
     ) throws SQLException;
 
+    /**
+     * Stores data of multiple entities.
+     * Default implementation invokes {@link #store} for each entity.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param values      Values to store, grouped by anchor link identifier.
+     * @throws SQLException On database error.
+     */
+    default void storeAll(
+            Connection connection,
+            String tablePrefix,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            store(connection, tablePrefix, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Prepares statements storing data of multiple entities, that can be executed together
+     * with statements of other type handlers using {@link PreparedWrite#executeAll}.
+     * Default implementation is not supported and returns null.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param values      Values to store, grouped by anchor link identifier.
+     * @return Statements to execute in order or null if not supported.
+     * @throws SQLException On database error.
+     */
+    default List<PreparedWrite> prepareStoreAll(
+            Connection connection,
+            String tablePrefix,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        return null;
+    }
+
     /**
      * Deletes data.
      *
@@ -58,4 +235,25 @@ public interface TypeHandler {
             long linkId,
             Collection<Key> keys
     ) throws SQLException;
+
+    /**
+     * Deletes data of multiple entities.
+     * Default implementation invokes {@link #delete} for each entity.
+     *
+     * @param connection  Database connection to use.
+     * @param tablePrefix Database table prefix.
+     * @param linkIds     Anchor link identifiers.
+     * @param keys        Keys to delete.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> void deleteAll(
+            Connection connection,
+            String tablePrefix,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        for (Long linkId : linkIds) {
+            delete(connection, tablePrefix, linkId, keys);
+        }
+    }
 }
@@ -11,7 +11,11 @@ import java.util.Objects;
 
 /**
  * Simple mutable type handler resolver working on top of hash map.
- * Not thread safe (works as builder) and should be configured before actual usage.
+ * Not thread safe (works as builder) and should be configured before actual usage,
+ * after which it should be converted into immutable resolver using {@link #freeze()}.
+ * <p>
+ * Classes without own type handler are resolved using handlers of their superclasses
+ * and interfaces, see {@link FrozenTypeHandlerResolver}.
  */
 public class TypeHandlerResolverMap implements TypeHandlerResolver {
     private final HashMap<Type, TypeHandler> map = new HashMap<>();
@@ -43,10 +47,22 @@ public class TypeHandlerResolverMap implements TypeHandlerResolver {
         return this.with(clazz, new LayoutAwareTypeHandler(layout, mapper));
     }
 
+    /**
+     * Builds immutable thread safe resolver containing all type handlers registered so far.
+     * Further modifications of this map are not reflected in built resolver.
+     *
+     * @return Immutable resolver.
+     */
+    public FrozenTypeHandlerResolver freeze() {
+        return new FrozenTypeHandlerResolver(map);
+    }
+
     @Override
     public TypeHandler resolve(Type type) throws NoSuitableTypeHandlerFoundException {
         if (type != null) {
-            TypeHandler typeHandler = map.get(type);
+            TypeHandler typeHandler = type instanceof Class<?>
+                    ? FrozenTypeHandlerResolver.lookup(map, (Class<?>) type)
+                    : map.get(type);
             if (typeHandler != null) {
                 return typeHandler;
             }
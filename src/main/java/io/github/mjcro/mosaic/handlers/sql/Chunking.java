@@ -0,0 +1,145 @@
+package io.github.mjcro.mosaic.handlers.sql;
+
+import io.github.mjcro.mosaic.util.LongArrays;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Defines how large identifier collections should be split into
+ * separate statements to keep IN clauses reasonably small.
+ */
+public final class Chunking {
+    /**
+     * Default chunking, up to 1000 identifiers per statement.
+     */
+    public static final Chunking DEFAULT = new Chunking(1000, false);
+
+    private final int maxIdsPerStatement;
+    private final boolean bucketing;
+
+    /**
+     * Constructs chunking with given maximum amount of identifiers per statement.
+     *
+     * @param maxIdsPerStatement Maximum amount of identifiers in single IN clause.
+     * @return Chunking.
+     */
+    public static Chunking of(int maxIdsPerStatement) {
+        return new Chunking(maxIdsPerStatement, false);
+    }
+
+    private Chunking(int maxIdsPerStatement, boolean bucketing) {
+        if (maxIdsPerStatement < 1) {
+            throw new IllegalArgumentException("maxIdsPerStatement should be positive");
+        }
+        this.maxIdsPerStatement = maxIdsPerStatement;
+        this.bucketing = bucketing;
+    }
+
+    /**
+     * Returns chunking, that pads IN clauses to fixed bucket sizes (1, 2, 4, 8 and so on,
+     * up to {@link #getMaxIdsPerStatement()}) by repeating last value.
+     * This keeps amount of distinct SQL statements small, so prepared statement caches
+     * on driver and server side are hit.
+     *
+     * @return Chunking with bucketing enabled.
+     */
+    public Chunking withBucketing() {
+        return bucketing ? this : new Chunking(maxIdsPerStatement, true);
+    }
+
+    /**
+     * @return True if IN clauses are padded to bucket sizes.
+     */
+    public boolean isBucketing() {
+        return bucketing;
+    }
+
+    /**
+     * Calculates amount of placeholders to use for given amount of values.
+     *
+     * @param count Amount of values.
+     * @return Amount of placeholders, never less than given amount of values.
+     */
+    public int placeholders(int count) {
+        if (!bucketing || count <= 1) {
+            return count;
+        }
+        int bucket = Integer.highestOneBit(count - 1) << 1;
+        if (bucket <= 0) {
+            return count; // Overflow
+        }
+        return Math.min(bucket, Math.max(count, maxIdsPerStatement));
+    }
+
+    /**
+     * @return Maximum amount of identifiers in single IN clause.
+     */
+    public int getMaxIdsPerStatement() {
+        return maxIdsPerStatement;
+    }
+
+    /**
+     * Splits given values into chunks.
+     * Duplicates are removed first, so same value never appears in two chunks.
+     *
+     * @param values Values to split.
+     * @return List of chunks, each containing at most {@link #getMaxIdsPerStatement()} elements.
+     */
+    public <T> List<List<T>> split(Collection<T> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<T> list = values instanceof Set<?>
+                ? new ArrayList<>(values)
+                : new ArrayList<>(new LinkedHashSet<>(values));
+        if (list.size() <= maxIdsPerStatement) {
+            return Collections.singletonList(list);
+        }
+
+        ArrayList<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += maxIdsPerStatement) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + maxIdsPerStatement)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits given identifiers into chunks.
+     * Identifiers not fitting into single chunk are sorted and deduplicated first,
+     * so same identifier never appears in two chunks.
+     *
+     * @param values Identifiers to split.
+     * @return List of chunks, each containing at most {@link #getMaxIdsPerStatement()} elements.
+     */
+    public List<long[]> split(long[] values) {
+        if (values == null || values.length == 0) {
+            return Collections.emptyList();
+        }
+        if (values.length <= maxIdsPerStatement) {
+            return Collections.singletonList(values);
+        }
+
+        values = LongArrays.distinct(values);
+        if (values.length <= maxIdsPerStatement) {
+            return Collections.singletonList(values);
+        }
+
+        ArrayList<long[]> chunks = new ArrayList<>();
+        for (int from = 0; from < values.length; from += maxIdsPerStatement) {
+            chunks.add(Arrays.copyOfRange(values, from, Math.min(values.length, from + maxIdsPerStatement)));
+        }
+        return chunks;
+    }
+
+    @Override
+    public String toString() {
+        return "Chunking{maxIdsPerStatement=" + maxIdsPerStatement + ", bucketing=" + bucketing + "}";
+    }
+}
@@ -1,9 +1,17 @@
 package io.github.mjcro.mosaic.handlers.sql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongArrays;
+import io.github.mjcro.mosaic.util.LongObjectMap;
+import io.github.mjcro.mosaic.util.ObjectColumn;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +39,121 @@ public interface Layout {
             Collection<Key> keys
     ) throws SQLException;
 
+    /**
+     * Finds data linked to identifiers without boxing them.
+     * Default implementation adapts {@link #findByLinkId(Mapper, Connection, String, Collection, Collection)}.
+     *
+     * @param mapper     Mapper to use while reading data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Identifiers.
+     * @param keys       Keys to read from database.
+     * @return Data, grouped by identifiers.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return LongObjectMap.copyOf(findByLinkId(mapper, connection, tableName, LongArrays.asList(linkIds), keys));
+    }
+
+    /**
+     * Finds data linked to identifiers as columns, one per key, without creating
+     * per entity maps. Default implementation adapts {@link #findByLinkId(Mapper, Connection, String, long[], Collection)}
+     * into {@link ObjectColumn}s.
+     *
+     * @param mapper     Mapper to use while reading data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Identifiers.
+     * @param keys       Keys to read from database.
+     * @return Columns of found data, keys without data are absent.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> Map<Key, Column> findColumns(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return Column.of(findByLinkId(mapper, connection, tableName, linkIds, keys));
+    }
+
+    /**
+     * Prepares read of data linked to identifiers, that can be executed together
+     * with reads of other tables using single round trip.
+     * Default implementation is not supported and returns null.
+     *
+     * @param mapper     Mapper to use while reading data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Identifiers collection.
+     * @param keys       Keys to read from database.
+     * @return Prepared read or null if data can not be read using single statement.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Opens cursor over data linked to identifiers.
+     * Default implementation reads all data using {@link #findByLinkId},
+     * layouts are encouraged to override it with streaming reads.
+     *
+     * @param mapper     Mapper to use while reading data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Identifiers, sorted in ascending order without duplicates.
+     * @param keys       Keys to read from database.
+     * @param fetchSize  JDBC fetch size hint.
+     * @return Cursor, returning entities in ascending link identifier order.
+     * @throws SQLException On database error.
+     */
+    default <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return EntityCursor.of(findByLinkId(mapper, connection, tableName, linkIds, keys));
+    }
+
+    /**
+     * Finds link identifiers having data for any of given keys, used for keyset pagination.
+     * Default implementation is not supported.
+     *
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param afterLinkId Only link identifiers greater than this one are returned.
+     * @param keys        Keys to look for.
+     * @param limit       Maximum amount of link identifiers to return.
+     * @return Distinct link identifiers in ascending order.
+     * @throws SQLException On database error.
+     */
+    default List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tableName,
+            long afterLinkId,
+            Collection<? extends KeySpec> keys,
+            int limit
+    ) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Layout " + getClass().getName() + " does not support scanning");
+    }
+
     /**
      * Stores (creates or updates) data into database.
      *
@@ -49,6 +172,49 @@ public interface Layout {
             Map<? extends KeySpec, List<Object>> values
     ) throws SQLException;
 
+    /**
+     * Stores (creates or updates) data of multiple entities into database.
+     * Default implementation invokes {@link #store} for each entity, layouts
+     * are encouraged to override it with batched statements.
+     *
+     * @param mapper     Mapper to use while writing data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param values     Values to store, grouped by link identifier.
+     * @throws SQLException On database error.
+     */
+    default void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            store(mapper, connection, tableName, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Prepares statements storing data of multiple entities, that can be executed together
+     * with statements of other tables using single round trip.
+     * Default implementation is not supported and returns null.
+     *
+     * @param mapper     Mapper to use while writing data.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param values     Values to store, grouped by link identifier.
+     * @return Statements to execute in order or null if not supported.
+     * @throws SQLException On database error.
+     */
+    default List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        return null;
+    }
+
     /**
      * Deletes data from database.
      *
@@ -64,4 +230,26 @@ public interface Layout {
             long linkId,
             Collection<? extends KeySpec> keys
     ) throws SQLException;
+
+    /**
+     * Deletes data linked to multiple identifiers from database.
+     * Default implementation invokes {@link #delete} for each link identifier,
+     * layouts are encouraged to override it with batched statements.
+     *
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Link identifiers.
+     * @param keys       Keys to delete.
+     * @throws SQLException On database error.
+     */
+    default void deleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        for (Long linkId : linkIds) {
+            delete(connection, tableName, linkId, keys);
+        }
+    }
 }
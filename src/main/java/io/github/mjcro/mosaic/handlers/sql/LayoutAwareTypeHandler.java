@@ -1,7 +1,12 @@
 package io.github.mjcro.mosaic.handlers.sql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
 import io.github.mjcro.mosaic.TypeHandler;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -9,6 +14,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link TypeHandler} that delegates data read write
@@ -17,6 +23,7 @@ import java.util.Objects;
 public class LayoutAwareTypeHandler implements TypeHandler {
     private final Layout layout;
     private final Mapper mapper;
+    private final ConcurrentHashMap<String, String> tableNames = new ConcurrentHashMap<>();
 
     /**
      * Constructs type handler.
@@ -31,7 +38,18 @@ public class LayoutAwareTypeHandler implements TypeHandler {
     }
 
     public String getTableName(String tablePrefix) {
-        return Objects.requireNonNull(tablePrefix, "prefix") + mapper.getCommonName();
+        Objects.requireNonNull(tablePrefix, "prefix");
+
+        // Repositories use small amount of prefixes, so built names are reused
+        String tableName = tableNames.get(tablePrefix);
+        if (tableName == null) {
+            tableName = tablePrefix + mapper.getCommonName();
+            String previous = tableNames.putIfAbsent(tablePrefix, tableName);
+            if (previous != null) {
+                tableName = previous;
+            }
+        }
+        return tableName;
     }
 
     @Override
@@ -44,6 +62,58 @@ public class LayoutAwareTypeHandler implements TypeHandler {
         return layout.findByLinkId(mapper, connection, getTableName(tablePrefix), linkIds, keys);
     }
 
+    @Override
+    public <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
+            Connection connection,
+            String tablePrefix,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return layout.findByLinkId(mapper, connection, getTableName(tablePrefix), linkIds, keys);
+    }
+
+    @Override
+    public <Key extends KeySpec> Map<Key, Column> findColumns(
+            Connection connection,
+            String tablePrefix,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return layout.findColumns(mapper, connection, getTableName(tablePrefix), linkIds, keys);
+    }
+
+    @Override
+    public <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Connection connection,
+            String tablePrefix,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return layout.prepareFindByLinkId(mapper, connection, getTableName(tablePrefix), linkIds, keys);
+    }
+
+    @Override
+    public <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Connection connection,
+            String tablePrefix,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return layout.openByLinkId(mapper, connection, getTableName(tablePrefix), linkIds, keys, fetchSize);
+    }
+
+    @Override
+    public <Key extends KeySpec> List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tablePrefix,
+            long afterLinkId,
+            Collection<Key> keys,
+            int limit
+    ) throws SQLException {
+        return layout.findLinkIdsAfter(connection, getTableName(tablePrefix), afterLinkId, keys, limit);
+    }
+
     @Override
     public void store(
             Connection connection,
@@ -54,6 +124,24 @@ public class LayoutAwareTypeHandler implements TypeHandler {
         layout.store(mapper, connection, getTableName(tablePrefix), linkId, values);
     }
 
+    @Override
+    public void storeAll(
+            Connection connection,
+            String tablePrefix,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        layout.storeAll(mapper, connection, getTableName(tablePrefix), values);
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Connection connection,
+            String tablePrefix,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        return layout.prepareStoreAll(mapper, connection, getTableName(tablePrefix), values);
+    }
+
     @Override
     public <Key extends KeySpec> void delete(
             Connection connection,
@@ -63,4 +151,14 @@ public class LayoutAwareTypeHandler implements TypeHandler {
     ) throws SQLException {
         layout.delete(connection, getTableName(tablePrefix), linkId, keys);
     }
+
+    @Override
+    public <Key extends KeySpec> void deleteAll(
+            Connection connection,
+            String tablePrefix,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        layout.deleteAll(connection, getTableName(tablePrefix), linkIds, keys);
+    }
 }
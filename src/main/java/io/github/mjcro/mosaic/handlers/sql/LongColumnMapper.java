@@ -0,0 +1,46 @@
+package io.github.mjcro.mosaic.handlers.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mapper of values stored in single numeric column, able to read and write
+ * raw column values without boxing or creating value objects.
+ */
+public interface LongColumnMapper extends Mapper {
+    /**
+     * Sets raw column value into given statement.
+     *
+     * @param stmt   Statement to set placeholder into.
+     * @param offset Placeholder offset.
+     * @param value  Raw column value.
+     * @throws SQLException On error.
+     */
+    void setLong(PreparedStatement stmt, int offset, long value) throws SQLException;
+
+    /**
+     * Reads raw column value from result set.
+     *
+     * @param resultSet Result set with data.
+     * @param offset    Column offset.
+     * @return Raw column value.
+     * @throws SQLException On error.
+     */
+    long readLong(ResultSet resultSet, int offset) throws SQLException;
+
+    /**
+     * Returns primitive mapper, given mapper is or decorates.
+     *
+     * @param mapper Mapper.
+     * @return Primitive mapper or null if given mapper does not support primitive values.
+     */
+    static LongColumnMapper of(Mapper mapper) {
+        if (mapper instanceof LongColumnMapper) {
+            return (LongColumnMapper) mapper;
+        } else if (mapper instanceof CommonNameMapperDecorator) {
+            return of(((CommonNameMapperDecorator) mapper).getDecorated());
+        }
+        return null;
+    }
+}
@@ -1,13 +1,14 @@
 package io.github.mjcro.mosaic.handlers.sql.mappers;
 
 import io.github.mjcro.mosaic.exceptions.UnexpectedValueException;
+import io.github.mjcro.mosaic.handlers.sql.LongColumnMapper;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 
-public class InstantMillisMapper extends AbstractSingleColumnValueMapper {
+public class InstantMillisMapper extends AbstractSingleColumnValueMapper implements LongColumnMapper {
     @Override
     public String getCommonName() {
         return "Instant";
@@ -16,7 +17,7 @@ public class InstantMillisMapper extends AbstractSingleColumnValueMapper {
     @Override
     public void setPlaceholdersValue(PreparedStatement stmt, int offset, Object value) throws SQLException {
         if (value instanceof Instant) {
-            stmt.setLong(offset, ((Instant) value).toEpochMilli());
+            setLong(stmt, offset, ((Instant) value).toEpochMilli());
         } else {
             throw new UnexpectedValueException(value);
         }
@@ -24,6 +25,16 @@ public class InstantMillisMapper extends AbstractSingleColumnValueMapper {
 
     @Override
     public Object readObjectValue(ResultSet resultSet, int offset) throws SQLException {
-        return Instant.ofEpochMilli(resultSet.getLong(offset));
+        return Instant.ofEpochMilli(readLong(resultSet, offset));
+    }
+
+    @Override
+    public void setLong(PreparedStatement stmt, int offset, long value) throws SQLException {
+        stmt.setLong(offset, value);
+    }
+
+    @Override
+    public long readLong(ResultSet resultSet, int offset) throws SQLException {
+        return resultSet.getLong(offset);
     }
 }
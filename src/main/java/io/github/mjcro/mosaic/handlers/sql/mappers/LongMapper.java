@@ -1,12 +1,13 @@
 package io.github.mjcro.mosaic.handlers.sql.mappers;
 
 import io.github.mjcro.mosaic.exceptions.UnexpectedValueException;
+import io.github.mjcro.mosaic.handlers.sql.LongColumnMapper;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class LongMapper extends AbstractSingleColumnValueMapper {
+public class LongMapper extends AbstractSingleColumnValueMapper implements LongColumnMapper {
     @Override
     public String getCommonName() {
         return "Long";
@@ -15,7 +16,7 @@ public class LongMapper extends AbstractSingleColumnValueMapper {
     @Override
     public void setPlaceholdersValue(PreparedStatement stmt, int offset, Object value) throws SQLException {
         if (value instanceof Long) {
-            stmt.setLong(offset, (Long) value);
+            setLong(stmt, offset, (Long) value);
         } else {
             throw new UnexpectedValueException(value);
         }
@@ -23,6 +24,16 @@ public class LongMapper extends AbstractSingleColumnValueMapper {
 
     @Override
     public Object readObjectValue(ResultSet resultSet, int offset) throws SQLException {
+        return readLong(resultSet, offset);
+    }
+
+    @Override
+    public void setLong(PreparedStatement stmt, int offset, long value) throws SQLException {
+        stmt.setLong(offset, value);
+    }
+
+    @Override
+    public long readLong(ResultSet resultSet, int offset) throws SQLException {
         return resultSet.getLong(offset);
     }
 }
@@ -1,25 +1,57 @@
 package io.github.mjcro.mosaic.handlers.sql.mysql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.handlers.sql.ChangesDetector;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
+import io.github.mjcro.mosaic.handlers.sql.LongColumnMapper;
 import io.github.mjcro.mosaic.handlers.sql.Mapper;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongArrays;
+import io.github.mjcro.mosaic.util.LongColumn;
+import io.github.mjcro.mosaic.util.LongObjectMap;
+import io.github.mjcro.mosaic.util.ObjectColumn;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 /**
  * Basic utility MySQL layout.
  */
 public abstract class MySqlBasicLayout extends MySqlLayout {
+    /**
+     * Maximum amount of rows written by single INSERT statement.
+     */
+    protected static final int MAX_ROWS_PER_STATEMENT = 1000;
+    protected static final String FOR_UPDATE = " FOR UPDATE";
+
+    /**
+     * Defines how large link identifier collections are split into statements.
+     */
+    protected final Chunking chunking;
+
+    private final ConcurrentHashMap<Mapper, ConcurrentHashMap<String, MySqlQueryPlan>> plans = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, MySqlQueryPlan> tablePlans = new ConcurrentHashMap<>();
+
     /**
      * Constructs basic MySQL layout.
      *
@@ -29,11 +61,74 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
      * @param columnTypeId      Column name to store type identifier.
      */
     public MySqlBasicLayout(boolean detectTransaction, String columnLinkId, String columnTypeId) {
+        this(detectTransaction, columnLinkId, columnTypeId, Chunking.DEFAULT);
+    }
+
+    /**
+     * Constructs basic MySQL layout.
+     *
+     * @param detectTransaction If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                          while reading data.
+     * @param columnLinkId      Column name to store link identifier.
+     * @param columnTypeId      Column name to store type identifier.
+     * @param chunking          Defines how many link identifiers can be used within single statement.
+     */
+    public MySqlBasicLayout(boolean detectTransaction, String columnLinkId, String columnTypeId, Chunking chunking) {
         super(detectTransaction, columnLinkId, columnTypeId);
+        this.chunking = Objects.requireNonNull(chunking, "chunking");
+    }
+
+    /**
+     * Returns cached query plan for given mapper and table, building it on first access.
+     *
+     * @param mapper    Entity data mapper.
+     * @param tableName Database table name.
+     * @return Query plan.
+     * @throws SQLException On invalid table or column name.
+     */
+    protected MySqlQueryPlan plan(Mapper mapper, String tableName) throws SQLException {
+        ConcurrentHashMap<String, MySqlQueryPlan> byTable = plans.get(mapper);
+        if (byTable == null) {
+            byTable = new ConcurrentHashMap<>();
+            ConcurrentHashMap<String, MySqlQueryPlan> previous = plans.putIfAbsent(mapper, byTable);
+            if (previous != null) {
+                byTable = previous;
+            }
+        }
+        return plan(byTable, mapper, tableName);
+    }
+
+    /**
+     * Returns cached query plan without value columns for given table, building it on first access.
+     *
+     * @param tableName Database table name.
+     * @return Query plan.
+     * @throws SQLException On invalid table name.
+     */
+    protected MySqlQueryPlan plan(String tableName) throws SQLException {
+        return plan(tablePlans, null, tableName);
+    }
+
+    private MySqlQueryPlan plan(
+            ConcurrentHashMap<String, MySqlQueryPlan> byTable,
+            Mapper mapper,
+            String tableName
+    ) throws SQLException {
+        MySqlQueryPlan plan = byTable.get(tableName);
+        if (plan == null) {
+            plan = new MySqlQueryPlan(this, mapper, tableName);
+            MySqlQueryPlan previous = byTable.putIfAbsent(tableName, plan);
+            if (previous != null) {
+                plan = previous;
+            }
+        }
+        return plan;
     }
 
     /**
      * Actually performs data read.
+     * Large link identifier collections are split into chunks according to
+     * layout {@link Chunking} and read using separate statements.
      *
      * @param mapper      Entity data mapper.
      * @param connection  Database connection.
@@ -52,86 +147,249 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
             Collection<Key> keys,
             WhereClauseInjector injectWhere
     ) throws SQLException {
+        return findByLinkId0(mapper, connection, tableName, LongArrays.of(linkIds), keys, injectWhere).asMap();
+    }
+
+    /**
+     * Actually performs data read without boxing link identifiers.
+     * Large link identifier arrays are split into chunks according to
+     * layout {@link Chunking} and read using separate statements.
+     *
+     * @param mapper      Entity data mapper.
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param linkIds     Link identifiers to read.
+     * @param keys        Keys to read.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @return Found data.
+     * @throws SQLException On database error.
+     */
+    protected <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys,
+            WhereClauseInjector injectWhere
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(mapper, tableName);
         HashMap<Integer, Key> reverseMap = new HashMap<>();
         for (Key key : keys) {
             reverseMap.put(key.getTypeId(), key);
         }
 
-        String[] columns = mapper.getColumnNames();
+        LongObjectMap<Map<Key, List<Object>>> response = new LongObjectMap<>();
+        for (long[] chunk : chunking.split(linkIds)) {
+            findByLinkIdChunk(mapper, plan, connection, chunk, keys, reverseMap, injectWhere, response);
+        }
+        return response;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("SELECT ").append(escapeName(columnLinkId)).append(",").append(escapeName(columnTypeId));
-        for (String column : columns) {
-            sb.append(",").append(escapeName(column));
+    /**
+     * Actually performs data read into columns. Values of mappers implementing
+     * {@link LongColumnMapper} are read into primitive columns.
+     * Large link identifier arrays are split into chunks according to
+     * layout {@link Chunking} and read using separate statements.
+     *
+     * @param mapper      Entity data mapper.
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param linkIds     Link identifiers to read.
+     * @param keys        Keys to read.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @return Found data, grouped by key. Keys without data are absent.
+     * @throws SQLException On database error.
+     */
+    protected <Key extends KeySpec> Map<Key, Column> findColumns0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys,
+            WhereClauseInjector injectWhere
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(mapper, tableName);
+        HashMap<Integer, Key> reverseMap = new HashMap<>();
+        for (Key key : keys) {
+            reverseMap.put(key.getTypeId(), key);
         }
+        LongColumnMapper longColumnMapper = LongColumnMapper.of(mapper);
 
-        sb.append(" FROM ").append(escapeName(tableName)).append(" WHERE");
-        if (injectWhere != null) {
-            sb.append(" ");
-            injectWhere.accept(sb);
+        Map<Key, Column> response = MySqlBasicLayout.<Key, Column>keyMapFactory(keys).get();
+        for (long[] chunk : chunking.split(linkIds)) {
+            ChunkRead<Key> read = new ChunkRead<>(mapper, plan, connection, chunk, keys, reverseMap, injectWhere);
+            readChunk(connection, read, rs -> read.readColumns(rs, response, longColumnMapper));
         }
-        sb.append(" ").append(escapeName(columnLinkId)).append(" IN (");
-        for (int i = 0; i < linkIds.size(); i++) {
-            if (i > 0) {
-                sb.append(",");
-            }
-            sb.append("?");
+        return response;
+    }
+
+    /**
+     * Prepares read of data, that can be executed together with reads of other tables.
+     *
+     * @param mapper      Entity data mapper.
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param linkIds     Link identifiers to read.
+     * @param keys        Keys to read.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @return Prepared read or null if link identifiers do not fit into single statement.
+     * @throws SQLException On database error.
+     */
+    protected <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<Key> keys,
+            WhereClauseInjector injectWhere
+    ) throws SQLException {
+        List<List<Long>> chunks = chunking.split(linkIds);
+        if (chunks.size() != 1) {
+            return null;
         }
-        sb.append(")");
 
-        sb.append(" AND ").append(escapeName(columnTypeId)).append(" IN (");
-        for (int i = 0; i < keys.size(); i++) {
-            if (i > 0) {
-                sb.append(",");
+        HashMap<Integer, Key> reverseMap = new HashMap<>();
+        for (Key key : keys) {
+            reverseMap.put(key.getTypeId(), key);
+        }
+        return new ChunkRead<>(
+                mapper,
+                plan(mapper, tableName),
+                connection,
+                LongArrays.of(chunks.get(0)),
+                keys,
+                reverseMap,
+                injectWhere
+        );
+    }
+
+    /**
+     * Reads data for single chunk of link identifiers.
+     *
+     * @param mapper      Entity data mapper.
+     * @param plan        Query plan.
+     * @param connection  Database connection.
+     * @param linkIds     Link identifiers to read.
+     * @param keys        Keys to read.
+     * @param reverseMap  Keys indexed by type identifier.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @param response    Map to put found data into.
+     * @throws SQLException On database error.
+     */
+    private <Key extends KeySpec> void findByLinkIdChunk(
+            Mapper mapper,
+            MySqlQueryPlan plan,
+            Connection connection,
+            long[] linkIds,
+            Collection<Key> keys,
+            Map<Integer, Key> reverseMap,
+            WhereClauseInjector injectWhere,
+            LongObjectMap<Map<Key, List<Object>>> response
+    ) throws SQLException {
+        ChunkRead<Key> read = new ChunkRead<>(mapper, plan, connection, linkIds, keys, reverseMap, injectWhere);
+        readChunk(connection, read, rs -> read.read(rs, response));
+    }
+
+    /**
+     * Executes read of single chunk and passes its result set to given reader.
+     *
+     * @param connection Database connection.
+     * @param read       Chunk read.
+     * @param reader     Result set reader.
+     * @throws SQLException On database error.
+     */
+    private static void readChunk(Connection connection, PreparedRead<?> read, ResultSetReader reader) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(read.getSql())) {
+            read.bind(stmt, 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                reader.read(rs);
             }
-            sb.append("?");
         }
-        sb.append(")");
+    }
 
-        if (insideTransaction(connection)) {
-            // Inside transaction
-            sb.append(" FOR UPDATE");
+    /**
+     * Opens streaming cursor over data.
+     * Link identifiers are split into chunks and each chunk is read using single
+     * statement ordered by link identifier, so at most one entity is kept in memory.
+     *
+     * @param mapper      Entity data mapper.
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param linkIds     Link identifiers to read, sorted in ascending order without duplicates.
+     * @param keys        Keys to read.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @param fetchSize   JDBC fetch size, use {@link Integer#MIN_VALUE} for MySQL streaming mode.
+     * @return Cursor.
+     * @throws SQLException On database error.
+     */
+    protected <Key extends KeySpec> EntityCursor<Key> openByLinkId0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            WhereClauseInjector injectWhere,
+            int fetchSize
+    ) throws SQLException {
+        HashMap<Integer, Key> reverseMap = new HashMap<>();
+        for (Key key : keys) {
+            reverseMap.put(key.getTypeId(), key);
         }
 
-        Map<Long, Map<Key, List<Object>>> response = new HashMap<>();
-        int offset = 1;
-        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
-            for (Long id : linkIds) {
-                stmt.setLong(offset++, id);
-            }
-            for (Key key : keys) {
-                stmt.setInt(offset++, key.getTypeId());
-            }
+        return new StreamingCursor<>(
+                mapper,
+                plan(mapper, tableName),
+                connection,
+                chunking.split(linkIds),
+                keys,
+                reverseMap,
+                injectWhere,
+                fetchSize
+        );
+    }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.isBeforeFirst()) {
-                    while (rs.next()) {
-                        if (rs.isAfterLast()) {
-                            break;
-                        }
+    /**
+     * Finds link identifiers having data for any of given keys using keyset pagination.
+     *
+     * @param connection  Database connection.
+     * @param tableName   Database table name.
+     * @param afterLinkId Only link identifiers greater than this one are returned.
+     * @param keys        Keys to look for.
+     * @param limit       Maximum amount of link identifiers to return.
+     * @param injectWhere Additional condition to inject into WHERE block.
+     * @return Distinct link identifiers in ascending order.
+     * @throws SQLException On database error.
+     */
+    protected List<Long> findLinkIdsAfter0(
+            Connection connection,
+            String tableName,
+            long afterLinkId,
+            Collection<? extends KeySpec> keys,
+            int limit,
+            WhereClauseInjector injectWhere
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        String scan = plan.getScan(injectWhere);
+        String suffix = plan.getScanSuffix();
 
-                        long linkId = rs.getLong(1);
-                        Key key = reverseMap.get(rs.getInt(2));
-                        if (key == null) {
-                            // Key not resolved
-                            continue;
-                        }
-                        Object value = mapper.readObjectValue(rs, 3);
+        int keysCount = chunking.placeholders(keys.size());
+        StringBuilder sb = new StringBuilder(scan.length() + suffix.length() + 2 * keysCount);
+        sb.append(scan);
+        MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+        sb.append(suffix);
 
-                        if (!response.containsKey(linkId)) {
-                            response.put(linkId, new HashMap<>());
-                        }
+        ArrayList<Long> response = new ArrayList<>(limit);
+        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+            stmt.setLong(1, afterLinkId);
+            int offset = setTypeIds(stmt, 2, keys, keysCount);
+            stmt.setInt(offset, limit);
 
-                        Map<Key, List<Object>> subMap = response.get(linkId);
-                        if (!subMap.containsKey(key)) {
-                            subMap.put(key, new ArrayList<>());
-                        }
-                        subMap.get(key).add(value);
-                    }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    response.add(rs.getLong(1));
                 }
             }
         }
-
         return response;
     }
 
@@ -154,61 +412,432 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
             Map<? extends KeySpec, List<Object>> values0,
             AdditionalColumn... additionalColumns
     ) throws SQLException {
-        // Deleting previous values
-        delete(connection, tableName, linkId, values0.keySet());
-
-        // Filtering empty values and checking that are
-        Map<? extends KeySpec, List<Object>> values = values0.entrySet().stream()
-                .filter($ -> !$.getValue().isEmpty())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (x, y) -> x, LinkedHashMap::new));
-        if (values.isEmpty()) {
-            return;
-        }
-
-        String[] columns = mapper.getColumnNames();
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("INSERT INTO ").append(escapeName(tableName));
-        sb.append(" (").append(escapeName(columnLinkId)).append(",").append(escapeName(columnTypeId));
-        for (AdditionalColumn additionalColumn : additionalColumns) {
-            sb.append(",").append(escapeName(additionalColumn.getColumnName()));
-        }
-        for (String column : columns) {
-            sb.append(",").append(escapeName(column));
-        }
-        sb.append(") VALUES ");
-        boolean first = true;
-        for (Map.Entry<? extends KeySpec, List<Object>> entry : values.entrySet()) {
-            for (int i = 0; i < entry.getValue().size(); i++) {
-                if (first) {
-                    first = false;
-                } else {
-                    sb.append(",");
+        storeAll0(
+                mapper,
+                connection,
+                tableName,
+                Collections.singletonMap(linkId, values0),
+                additionalColumns
+        );
+    }
+
+    /**
+     * Actually stores data of multiple entities into database.
+     * Previous values are deleted using one statement per distinct key set and new
+     * values are written using multi-row INSERT statements, each containing at most
+     * {@link #MAX_ROWS_PER_STATEMENT} rows.
+     *
+     * @param mapper            Entity data mapper.
+     * @param connection        Database connection.
+     * @param tableName         Database table name.
+     * @param values            Values to store, grouped by link identifier.
+     * @param additionalColumns Additional columns to store also.
+     * @throws SQLException On database error.
+     */
+    protected void storeAll0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values,
+            AdditionalColumn... additionalColumns
+    ) throws SQLException {
+        // Deleting previous values, entities with same keys are deleted together
+        for (Map.Entry<Set<KeySpec>, List<Long>> entry : groupLinkIdsByKeys(values).entrySet()) {
+            deleteAll(connection, tableName, entry.getValue(), entry.getKey());
+        }
+
+        // Writing new values
+        for (PreparedWrite insert : prepareInserts(mapper, tableName, values, additionalColumns)) {
+            insert.execute(connection);
+        }
+    }
+
+    /**
+     * Prepares statements storing data of multiple entities, same as {@link #storeAll0}
+     * does, so they can be sent to database together.
+     *
+     * @param mapper            Entity data mapper.
+     * @param connection        Database connection.
+     * @param tableName         Database table name.
+     * @param values            Values to store, grouped by link identifier.
+     * @param additionalColumns Additional columns to store also.
+     * @return Statements to execute in order or null if layout can not prepare deletion statements.
+     * @throws SQLException On database error.
+     */
+    protected List<PreparedWrite> prepareStoreAll0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values,
+            AdditionalColumn... additionalColumns
+    ) throws SQLException {
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        for (Map.Entry<Set<KeySpec>, List<Long>> entry : groupLinkIdsByKeys(values).entrySet()) {
+            List<PreparedWrite> deletes = prepareDeleteAll(connection, tableName, entry.getValue(), entry.getKey());
+            if (deletes == null) {
+                return null;
+            }
+            writes.addAll(deletes);
+        }
+        writes.addAll(prepareInserts(mapper, tableName, values, additionalColumns));
+        return writes;
+    }
+
+    /**
+     * Prepares statements storing only changes of multiple entities. Reads values already
+     * stored using {@link #findByLinkId}, then deactivates only values that are not stored
+     * anymore and inserts only values not present yet. Keys are compared as sets of values
+     * using {@link ChangesDetector}, so unchanged values keep their rows. Null values clear the key,
+     * same as empty list does.
+     *
+     * @param mapper              Entity data mapper.
+     * @param connection          Database connection.
+     * @param tableName           Database table name.
+     * @param values              Values to store, grouped by link identifier.
+     * @param deactivateValue     Statement deactivating single value, with placeholders for prepended values,
+     *                            link identifier, type identifier and value columns.
+     * @param prependPlaceholders Placeholders values to prepend to deactivation statement.
+     * @param additionalColumns   Additional columns to store also.
+     * @return Statements to execute in order, empty if nothing changed.
+     * @throws SQLException On database error.
+     */
+    protected List<PreparedWrite> prepareStoreChanges0(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values,
+            MySqlQueryPlan.Fragment deactivateValue,
+            Object[] prependPlaceholders,
+            AdditionalColumn... additionalColumns
+    ) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Searching for existing values of all entities at once
+        HashSet<KeySpec> keys = new HashSet<>();
+        for (Map<? extends KeySpec, List<Object>> entity : values.values()) {
+            if (entity != null) {
+                keys.addAll(entity.keySet());
+            }
+        }
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Map<KeySpec, List<Object>>> existing = findByLinkId(
+                mapper,
+                connection,
+                tableName,
+                values.keySet(),
+                keys
+        );
+
+        MySqlQueryPlan plan = plan(mapper, tableName);
+        String deactivate = plan.getFragment(deactivateValue);
+        int columns = plan.getColumnCount();
+
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        LinkedHashMap<Long, Map<KeySpec, List<Object>>> valuesToInsert = new LinkedHashMap<>();
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            long linkId = entry.getKey();
+
+            // Stored values are identified by key and value, since there is no row identifier
+            ArrayList<ChangesDetector.StoredValue<Map.Entry<KeySpec, Object>, KeySpec>> stored = new ArrayList<>();
+            for (Map.Entry<KeySpec, List<Object>> value : existing.getOrDefault(linkId, Collections.emptyMap()).entrySet()) {
+                for (Object o : value.getValue()) {
+                    if (o != null) {
+                        stored.add(new ChangesDetector.StoredValue<>(
+                                new AbstractMap.SimpleImmutableEntry<>(value.getKey(), o),
+                                value.getKey(),
+                                o
+                        ));
+                    }
                 }
-                sb.append("(?,?");
-                for (int j = 0; j < additionalColumns.length + columns.length; j++) {
-                    sb.append(",?");
+            }
+
+            // Null values clear the key, so its stored values are deactivated
+            LinkedHashMap<KeySpec, List<Object>> toStore = new LinkedHashMap<>();
+            for (Map.Entry<? extends KeySpec, List<Object>> value : entry.getValue().entrySet()) {
+                toStore.put(value.getKey(), nonNullValues(value.getValue()));
+            }
+            ChangesDetector<Map.Entry<KeySpec, Object>, KeySpec> detector = new ChangesDetector<>(toStore, stored);
+            for (Map.Entry<KeySpec, Object> removed : detector.calculateIdToDelete()) {
+                int typeId = removed.getKey().getTypeId();
+                Object o = removed.getValue();
+                writes.add(new Write(deactivate, (stmt, offset) -> {
+                    if (prependPlaceholders != null && prependPlaceholders.length > 0) {
+                        for (Object p : prependPlaceholders) {
+                            stmt.setObject(offset++, p);
+                        }
+                    }
+                    stmt.setLong(offset++, linkId);
+                    stmt.setInt(offset++, typeId);
+                    mapper.setPlaceholdersValue(stmt, offset, o);
+                    return offset + columns;
+                }));
+            }
+            Map<KeySpec, List<Object>> toInsert = detector.calculateValuesToInsert();
+            if (!toInsert.isEmpty()) {
+                valuesToInsert.put(linkId, toInsert);
+            }
+        }
+        writes.addAll(prepareInserts(mapper, tableName, valuesToInsert, additionalColumns));
+        return writes;
+    }
+
+    /**
+     * Returns values without nulls. Null list or list of nulls is considered cleared key.
+     *
+     * @param values Values to filter, nullable.
+     * @return Non-null values, empty if key is cleared.
+     */
+    protected static List<Object> nonNullValues(List<Object> values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        if (!values.contains(null)) {
+            return values;
+        }
+        ArrayList<Object> response = new ArrayList<>(values.size());
+        for (Object o : values) {
+            if (o != null) {
+                response.add(o);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Prepares statements deleting data of multiple entities, same as {@link #deleteAll} does.
+     * Default implementation is not supported and returns null.
+     *
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Link identifiers.
+     * @param keys       Keys to delete.
+     * @return Statements to execute in order or null if not supported.
+     * @throws SQLException On database error.
+     */
+    protected List<PreparedWrite> prepareDeleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Groups link identifiers of non-empty entities by their key sets,
+     * so entities with same keys can be deleted together.
+     *
+     * @param values Values to store, grouped by link identifier.
+     * @return Link identifiers, grouped by key sets.
+     */
+    private static LinkedHashMap<Set<KeySpec>, List<Long>> groupLinkIdsByKeys(
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) {
+        LinkedHashMap<Set<KeySpec>, List<Long>> linkIdsByKeys = new LinkedHashMap<>();
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            Set<KeySpec> keys = new HashSet<>(entry.getValue().keySet());
+            if (!linkIdsByKeys.containsKey(keys)) {
+                linkIdsByKeys.put(keys, new ArrayList<>());
+            }
+            linkIdsByKeys.get(keys).add(entry.getKey());
+        }
+        return linkIdsByKeys;
+    }
+
+    /**
+     * Prepares multi-row INSERT statements, each containing at most
+     * {@link #MAX_ROWS_PER_STATEMENT} rows.
+     *
+     * @param mapper            Entity data mapper.
+     * @param tableName         Database table name.
+     * @param values            Values to store, grouped by link identifier.
+     * @param additionalColumns Additional columns to store also.
+     * @return INSERT statements, empty if there is nothing to write.
+     * @throws SQLException On database error.
+     */
+    protected List<PreparedWrite> prepareInserts(
+            Mapper mapper,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values,
+            AdditionalColumn... additionalColumns
+    ) throws SQLException {
+        // Filtering empty values
+        ArrayList<Row> rows = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            for (Map.Entry<? extends KeySpec, List<Object>> value : entry.getValue().entrySet()) {
+                for (Object o : value.getValue()) {
+                    rows.add(new Row(entry.getKey(), value.getKey().getTypeId(), o));
                 }
-                sb.append(")");
             }
         }
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        int offset = 1;
-        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
-            for (Map.Entry<? extends KeySpec, List<Object>> entry : values.entrySet()) {
-                for (Object value : entry.getValue()) {
-                    stmt.setLong(offset++, linkId);
-                    stmt.setInt(offset++, entry.getKey().getTypeId());
+        MySqlQueryPlan.Insert insert = plan(mapper, tableName).getInsert(additionalColumns);
+        int columns = plan(mapper, tableName).getColumnCount();
+
+        ArrayList<PreparedWrite> inserts = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Row> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+
+            StringBuilder sb = new StringBuilder(
+                    insert.getPrefix().length() + chunk.size() * (insert.getRow().length() + 1)
+            );
+            sb.append(insert.getPrefix());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sb.append(",");
+                }
+                sb.append(insert.getRow());
+            }
+
+            inserts.add(new Write(sb.toString(), (stmt, offset) -> {
+                for (Row row : chunk) {
+                    stmt.setLong(offset++, row.linkId);
+                    stmt.setInt(offset++, row.typeId);
                     for (AdditionalColumn injector : additionalColumns) {
                         injector.getInjector().accept(stmt, offset++);
                     }
-                    mapper.setPlaceholdersValue(stmt, offset, value);
-                    offset += columns.length;
+                    mapper.setPlaceholdersValue(stmt, offset, row.value);
+                    offset += columns;
                 }
+                return offset;
+            }));
+        }
+        return inserts;
+    }
+
+    /**
+     * Returns factory of maps holding data of single entity. When keys are enumeration
+     * constants, {@link EnumMap} is used, so merging maps copies arrays instead of hashing.
+     *
+     * @param keys Keys to read.
+     * @return Entity data map factory.
+     */
+    protected static <Key extends KeySpec> Supplier<Map<Key, List<Object>>> entityFactory(Collection<Key> keys) {
+        return keyMapFactory(keys);
+    }
+
+    /**
+     * Returns factory of maps indexed by given keys, using {@link EnumMap} when possible.
+     *
+     * @param keys Keys to index.
+     * @return Map factory.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static <Key extends KeySpec, V> Supplier<Map<Key, V>> keyMapFactory(Collection<Key> keys) {
+        Class<?> enumClass = null;
+        for (Key key : keys) {
+            if (!(key instanceof Enum<?>)) {
+                return HashMap::new;
+            }
+            Class<?> declaring = ((Enum<?>) key).getDeclaringClass();
+            if (enumClass != null && enumClass != declaring) {
+                return HashMap::new;
             }
+            enumClass = declaring;
+        }
+        if (enumClass == null) {
+            return HashMap::new;
+        }
+        Class<? extends Enum> finalClass = (Class<? extends Enum>) enumClass;
+        return () -> new EnumMap(finalClass);
+    }
 
-            stmt.executeUpdate();
+    /**
+     * Binds link identifiers to statement placeholders, repeating last identifier
+     * when there are more placeholders than identifiers (see {@link Chunking#withBucketing()}).
+     *
+     * @param stmt         Statement.
+     * @param offset       Placeholder offset to start from.
+     * @param linkIds      Link identifiers, not empty.
+     * @param placeholders Amount of placeholders to bind.
+     * @return Next placeholder offset.
+     * @throws SQLException On database error.
+     */
+    protected static int setLinkIds(
+            PreparedStatement stmt,
+            int offset,
+            Collection<Long> linkIds,
+            int placeholders
+    ) throws SQLException {
+        long last = 0;
+        for (Long id : linkIds) {
+            last = id;
+            stmt.setLong(offset++, last);
+        }
+        for (int i = linkIds.size(); i < placeholders; i++) {
+            stmt.setLong(offset++, last);
         }
+        return offset;
+    }
+
+    /**
+     * Binds link identifiers to statement placeholders, repeating last identifier
+     * when there are more placeholders than identifiers (see {@link Chunking#withBucketing()}).
+     *
+     * @param stmt         Statement.
+     * @param offset       Placeholder offset to start from.
+     * @param linkIds      Link identifiers, not empty.
+     * @param placeholders Amount of placeholders to bind.
+     * @return Next placeholder offset.
+     * @throws SQLException On database error.
+     */
+    protected static int setLinkIds(
+            PreparedStatement stmt,
+            int offset,
+            long[] linkIds,
+            int placeholders
+    ) throws SQLException {
+        for (long id : linkIds) {
+            stmt.setLong(offset++, id);
+        }
+        for (int i = linkIds.length; i < placeholders; i++) {
+            stmt.setLong(offset++, linkIds[linkIds.length - 1]);
+        }
+        return offset;
+    }
+
+    /**
+     * Binds type identifiers of given keys to statement placeholders, repeating last
+     * one when there are more placeholders than keys (see {@link Chunking#withBucketing()}).
+     *
+     * @param stmt         Statement.
+     * @param offset       Placeholder offset to start from.
+     * @param keys         Keys, not empty.
+     * @param placeholders Amount of placeholders to bind.
+     * @return Next placeholder offset.
+     * @throws SQLException On database error.
+     */
+    protected static int setTypeIds(
+            PreparedStatement stmt,
+            int offset,
+            Collection<? extends KeySpec> keys,
+            int placeholders
+    ) throws SQLException {
+        int last = 0;
+        for (KeySpec key : keys) {
+            last = key.getTypeId();
+            stmt.setInt(offset++, last);
+        }
+        for (int i = keys.size(); i < placeholders; i++) {
+            stmt.setInt(offset++, last);
+        }
+        return offset;
     }
 
     /**
@@ -255,6 +884,124 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
         }
     }
 
+    /**
+     * Utility method to be used in delete statements.
+     * Appends WHERE condition taken from query plan and executes query.
+     *
+     * @param plan                Query plan.
+     * @param prefix              Query prefix.
+     * @param connection          Database connection.
+     * @param linkId              Link identifier.
+     * @param prependPlaceholders Placeholders values to prepend.
+     * @param keys                Keys to delete.
+     * @throws SQLException On database error.
+     */
+    protected void appendWhereAndExecute(
+            MySqlQueryPlan plan,
+            String prefix,
+            Connection connection,
+            long linkId,
+            Object[] prependPlaceholders,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        String where = plan.getWhereLinkIdEquals();
+        int keysCount = chunking.placeholders(keys.size());
+        StringBuilder sb = new StringBuilder(prefix.length() + where.length() + 2 * keysCount);
+        sb.append(prefix).append(where);
+        MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+        sb.append(")");
+
+        int offset = 1;
+        try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+            if (prependPlaceholders != null && prependPlaceholders.length > 0) {
+                for (Object p : prependPlaceholders) {
+                    stmt.setObject(offset++, p);
+                }
+            }
+            stmt.setLong(offset++, linkId);
+            setTypeIds(stmt, offset, keys, keysCount);
+
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Utility method to be used in delete statements affecting multiple link identifiers.
+     * Appends WHERE condition and executes query, splitting link identifiers into
+     * chunks according to layout {@link Chunking}.
+     *
+     * @param plan                Query plan.
+     * @param prefix              Query prefix.
+     * @param connection          Database connection.
+     * @param linkIds             Link identifiers.
+     * @param prependPlaceholders Placeholders values to prepend.
+     * @param keys                Keys to delete.
+     * @throws SQLException On database error.
+     */
+    protected void appendWhereAndExecute(
+            MySqlQueryPlan plan,
+            String prefix,
+            Connection connection,
+            Collection<Long> linkIds,
+            Object[] prependPlaceholders,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        for (PreparedWrite write : prepareWhere(plan, prefix, linkIds, prependPlaceholders, keys)) {
+            write.execute(connection);
+        }
+    }
+
+    /**
+     * Utility method to be used in delete statements.
+     * Prepares statements with WHERE condition taken from query plan, one per chunk of link identifiers.
+     *
+     * @param plan                Query plan.
+     * @param prefix              Query prefix.
+     * @param linkIds             Link identifiers.
+     * @param prependPlaceholders Placeholders values to prepend.
+     * @param keys                Keys to delete.
+     * @return Statements to execute.
+     */
+    protected List<PreparedWrite> prepareWhere(
+            MySqlQueryPlan plan,
+            String prefix,
+            Collection<Long> linkIds,
+            Object[] prependPlaceholders,
+            Collection<? extends KeySpec> keys
+    ) {
+        String where = plan.getWhereLinkIdIn();
+        String typeIdIn = plan.getTypeIdIn();
+        int keysCount = chunking.placeholders(keys.size());
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        for (List<Long> chunk : chunking.split(linkIds)) {
+            int linkIdsCount = chunking.placeholders(chunk.size());
+            StringBuilder sb = new StringBuilder(
+                    prefix.length() + where.length() + typeIdIn.length() + 2 * (linkIdsCount + keysCount)
+            );
+            sb.append(prefix).append(where);
+            MySqlQueryPlan.appendPlaceholders(sb, linkIdsCount);
+            sb.append(typeIdIn);
+            MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+            sb.append(")");
+
+            writes.add(new Write(sb.toString(), (stmt, offset) -> {
+                if (prependPlaceholders != null && prependPlaceholders.length > 0) {
+                    for (Object p : prependPlaceholders) {
+                        stmt.setObject(offset++, p);
+                    }
+                }
+                offset = setLinkIds(stmt, offset, chunk, linkIdsCount);
+                return setTypeIds(stmt, offset, keys, keysCount);
+            }));
+        }
+        return writes;
+    }
+
+    @FunctionalInterface
+    private interface ResultSetReader {
+        void read(ResultSet rs) throws SQLException;
+    }
+
     @FunctionalInterface
     public interface WhereClauseInjector {
         void accept(StringBuilder sb) throws SQLException;
@@ -265,6 +1012,49 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
         void accept(PreparedStatement stmt, int offset) throws SQLException;
     }
 
+    @FunctionalInterface
+    public interface Binder {
+        int bind(PreparedStatement stmt, int offset) throws SQLException;
+    }
+
+    /**
+     * Prepared data modification statement.
+     */
+    protected static final class Write implements PreparedWrite {
+        private final String sql;
+        private final Binder binder;
+
+        protected Write(String sql, Binder binder) {
+            this.sql = sql;
+            this.binder = binder;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public int bind(PreparedStatement stmt, int offset) throws SQLException {
+            return binder.bind(stmt, offset);
+        }
+    }
+
+    /**
+     * Single row to insert.
+     */
+    private static final class Row {
+        private final long linkId;
+        private final int typeId;
+        private final Object value;
+
+        private Row(long linkId, int typeId, Object value) {
+            this.linkId = linkId;
+            this.typeId = typeId;
+            this.value = value;
+        }
+    }
+
     /**
      * Defines additional column layout can write for its own needs.
      */
@@ -285,4 +1075,311 @@ public abstract class MySqlBasicLayout extends MySqlLayout {
             return injector;
         }
     }
+
+    /**
+     * Read of single chunk of link identifiers.
+     */
+    private final class ChunkRead<Key extends KeySpec> implements PreparedRead<Key> {
+        private final Mapper mapper;
+        private final String sql;
+        private final long[] linkIds;
+        private final int linkIdsCount;
+        private final Collection<Key> keys;
+        private final int keysCount;
+        private final Map<Integer, Key> reverseMap;
+        private final Supplier<Map<Key, List<Object>>> entityFactory;
+
+        private ChunkRead(
+                Mapper mapper,
+                MySqlQueryPlan plan,
+                Connection connection,
+                long[] linkIds,
+                Collection<Key> keys,
+                Map<Integer, Key> reverseMap,
+                WhereClauseInjector injectWhere
+        ) throws SQLException {
+            this.mapper = mapper;
+            this.linkIds = linkIds;
+            this.linkIdsCount = chunking.placeholders(linkIds.length);
+            this.keys = keys;
+            this.keysCount = chunking.placeholders(keys.size());
+            this.reverseMap = reverseMap;
+            this.entityFactory = entityFactory(keys);
+
+            String select = plan.getSelect(injectWhere);
+            String typeIdIn = plan.getTypeIdIn();
+            StringBuilder sb = new StringBuilder(
+                    select.length() + typeIdIn.length() + 2 * (linkIdsCount + keysCount) + FOR_UPDATE.length()
+            );
+            sb.append(select);
+            MySqlQueryPlan.appendPlaceholders(sb, linkIdsCount);
+            sb.append(typeIdIn);
+            MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+            sb.append(")");
+
+            if (insideTransaction(connection)) {
+                // Inside transaction
+                sb.append(FOR_UPDATE);
+            }
+            this.sql = sb.toString();
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public int bind(PreparedStatement stmt, int offset) throws SQLException {
+            offset = setLinkIds(stmt, offset, linkIds, linkIdsCount);
+            return setTypeIds(stmt, offset, keys, keysCount);
+        }
+
+        @Override
+        public void read(ResultSet rs, Map<Long, Map<Key, List<Object>>> response) throws SQLException {
+            readRows(rs, linkId -> response.computeIfAbsent(linkId, id -> entityFactory.get()));
+        }
+
+        /**
+         * Decodes result set of this read without boxing link identifiers.
+         *
+         * @param rs       Result set to read.
+         * @param response Map to put found data into.
+         * @throws SQLException On database error.
+         */
+        private void read(ResultSet rs, LongObjectMap<Map<Key, List<Object>>> response) throws SQLException {
+            readRows(rs, linkId -> response.computeIfAbsent(linkId, id -> entityFactory.get()));
+        }
+
+        /**
+         * Decodes result set of this read into columns.
+         *
+         * @param rs               Result set to read.
+         * @param response         Map to put found data into.
+         * @param longColumnMapper Primitive mapper, if null values are read into {@link ObjectColumn}s.
+         * @throws SQLException On database error.
+         */
+        private void readColumns(
+                ResultSet rs,
+                Map<Key, Column> response,
+                LongColumnMapper longColumnMapper
+        ) throws SQLException {
+            while (rs.next()) {
+                Key key = reverseMap.get(rs.getInt(2));
+                if (key == null) {
+                    // Key not resolved
+                    continue;
+                }
+                Column column = response.get(key);
+                if (longColumnMapper != null) {
+                    if (column == null) {
+                        column = new LongColumn();
+                        response.put(key, column);
+                    }
+                    ((LongColumn) column).add(rs.getLong(1), longColumnMapper.readLong(rs, 3));
+                } else {
+                    if (column == null) {
+                        column = new ObjectColumn();
+                        response.put(key, column);
+                    }
+                    ((ObjectColumn) column).add(rs.getLong(1), mapper.readObjectValue(rs, 3));
+                }
+            }
+        }
+
+        private void readRows(ResultSet rs, LongFunction<Map<Key, List<Object>>> entities) throws SQLException {
+            if (rs.isBeforeFirst()) {
+                while (rs.next()) {
+                    if (rs.isAfterLast()) {
+                        break;
+                    }
+
+                    long linkId = rs.getLong(1);
+                    Key key = reverseMap.get(rs.getInt(2));
+                    if (key == null) {
+                        // Key not resolved
+                        continue;
+                    }
+                    Object value = mapper.readObjectValue(rs, 3);
+
+                    Map<Key, List<Object>> subMap = entities.apply(linkId);
+                    List<Object> list = subMap.get(key);
+                    if (list == null) {
+                        list = new ArrayList<>();
+                        subMap.put(key, list);
+                    }
+                    list.add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cursor, reading data chunk by chunk using forward-only result sets.
+     */
+    private final class StreamingCursor<Key extends KeySpec> implements EntityCursor<Key> {
+        private final Mapper mapper;
+        private final MySqlQueryPlan plan;
+        private final Connection connection;
+        private final List<List<Long>> chunks;
+        private final Collection<Key> keys;
+        private final Map<Integer, Key> reverseMap;
+        private final Supplier<Map<Key, List<Object>>> entityFactory;
+        private final WhereClauseInjector injectWhere;
+        private final int fetchSize;
+
+        private int nextChunk = 0;
+        private PreparedStatement stmt;
+        private ResultSet rs;
+
+        private boolean pending = false;
+        private long pendingLinkId;
+        private Key pendingKey;
+        private Object pendingValue;
+
+        private long linkId;
+        private Map<Key, List<Object>> values;
+
+        private StreamingCursor(
+                Mapper mapper,
+                MySqlQueryPlan plan,
+                Connection connection,
+                List<List<Long>> chunks,
+                Collection<Key> keys,
+                Map<Integer, Key> reverseMap,
+                WhereClauseInjector injectWhere,
+                int fetchSize
+        ) {
+            this.mapper = mapper;
+            this.plan = plan;
+            this.connection = connection;
+            this.chunks = chunks;
+            this.keys = keys;
+            this.reverseMap = reverseMap;
+            this.entityFactory = entityFactory(keys);
+            this.injectWhere = injectWhere;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            values = null;
+            while (pending || readRow()) {
+                long id = pendingLinkId;
+                Map<Key, List<Object>> map = entityFactory.get();
+                do {
+                    if (pendingKey != null) {
+                        List<Object> list = map.get(pendingKey);
+                        if (list == null) {
+                            list = new ArrayList<>();
+                            map.put(pendingKey, list);
+                        }
+                        list.add(pendingValue);
+                    }
+                    pending = false;
+                } while (readRow() && pendingLinkId == id);
+
+                if (!map.isEmpty()) {
+                    linkId = id;
+                    values = map;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long getLinkId() {
+            return linkId;
+        }
+
+        @Override
+        public Map<Key, List<Object>> getValues() {
+            return values;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            nextChunk = chunks.size();
+            pending = false;
+            closeStatement();
+        }
+
+        /**
+         * Reads next row into pending fields, opening next chunk if needed.
+         *
+         * @return True if row was read.
+         * @throws SQLException On database error.
+         */
+        private boolean readRow() throws SQLException {
+            while (true) {
+                if (rs != null) {
+                    if (rs.next()) {
+                        pendingLinkId = rs.getLong(1);
+                        pendingKey = reverseMap.get(rs.getInt(2));
+                        pendingValue = pendingKey == null ? null : mapper.readObjectValue(rs, 3);
+                        pending = true;
+                        return true;
+                    }
+                    closeStatement();
+                }
+                if (nextChunk >= chunks.size()) {
+                    return false;
+                }
+                openChunk(chunks.get(nextChunk++));
+            }
+        }
+
+        private void openChunk(List<Long> linkIds) throws SQLException {
+            String select = plan.getSelect(injectWhere);
+            String typeIdIn = plan.getTypeIdIn();
+            String orderBy = plan.getOrderByLinkId();
+
+            int linkIdsCount = chunking.placeholders(linkIds.size());
+            int keysCount = chunking.placeholders(keys.size());
+            StringBuilder sb = new StringBuilder(
+                    select.length() + typeIdIn.length() + orderBy.length()
+                            + 2 * (linkIdsCount + keysCount) + FOR_UPDATE.length()
+            );
+            sb.append(select);
+            MySqlQueryPlan.appendPlaceholders(sb, linkIdsCount);
+            sb.append(typeIdIn);
+            MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+            sb.append(")").append(orderBy);
+
+            if (insideTransaction(connection)) {
+                // Inside transaction
+                sb.append(FOR_UPDATE);
+            }
+
+            stmt = connection.prepareStatement(sb.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            try {
+                if (fetchSize != 0) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                int offset = setLinkIds(stmt, 1, linkIds, linkIdsCount);
+                setTypeIds(stmt, offset, keys, keysCount);
+                rs = stmt.executeQuery();
+            } catch (SQLException e) {
+                closeStatement();
+                throw e;
+            }
+        }
+
+        private void closeStatement() throws SQLException {
+            ResultSet rs = this.rs;
+            PreparedStatement stmt = this.stmt;
+            this.rs = null;
+            this.stmt = null;
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } finally {
+                if (stmt != null) {
+                    stmt.close();
+                }
+            }
+        }
+    }
 }
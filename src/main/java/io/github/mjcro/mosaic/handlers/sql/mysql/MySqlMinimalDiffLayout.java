@@ -0,0 +1,260 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.handlers.sql.ChangesDetector;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
+import io.github.mjcro.mosaic.handlers.sql.Mapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Minimal layout, that stores only changed values.
+ * <p>
+ * Uses same columns as {@link MySqlMinimalLayout}, but instead of deleting all rows
+ * of stored keys and inserting them again, it reads rows already present in database
+ * along with their primary key, deletes only rows whose values are not stored anymore
+ * and inserts only values not present in database. Rows with unchanged values keep
+ * their identifiers.
+ * <p>
+ * Values are compared using {@link Object#equals}, so mappers should read values back
+ * in the same form they are written. Multi-valued keys are compared as sets, so repeated
+ * values already present in database are not duplicated.
+ */
+public class MySqlMinimalDiffLayout extends MySqlMinimalLayout {
+    public static final MySqlMinimalDiffLayout DEFAULT = new MySqlMinimalDiffLayout(
+            true,
+            "id",
+            "linkId",
+            "typeId"
+    );
+
+    /**
+     * Placeholder for NULL values read from database, never equal to values to store.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    protected final String columnId;
+
+    private final MySqlQueryPlan.Fragment selectWithId;
+    private final MySqlQueryPlan.Fragment deleteById;
+
+    /**
+     * Constructs minimal diff MySQL layout with given column names.
+     *
+     * @param detectTransaction If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                          while reading data.
+     * @param columnId          Column name of row primary key. Not nullable.
+     * @param columnLinkId      Column name to store link identifier.
+     * @param columnTypeId      Column name to store type identifier.
+     */
+    public MySqlMinimalDiffLayout(
+            boolean detectTransaction,
+            String columnId,
+            String columnLinkId,
+            String columnTypeId
+    ) {
+        this(detectTransaction, columnId, columnLinkId, columnTypeId, Chunking.DEFAULT);
+    }
+
+    /**
+     * Constructs minimal diff MySQL layout with given column names.
+     *
+     * @param detectTransaction If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                          while reading data.
+     * @param columnId          Column name of row primary key. Not nullable.
+     * @param columnLinkId      Column name to store link identifier.
+     * @param columnTypeId      Column name to store type identifier.
+     * @param chunking          Defines how many link identifiers can be used within single statement.
+     */
+    public MySqlMinimalDiffLayout(
+            boolean detectTransaction,
+            String columnId,
+            String columnLinkId,
+            String columnTypeId,
+            Chunking chunking
+    ) {
+        super(detectTransaction, columnLinkId, columnTypeId, chunking);
+        this.columnId = Objects.requireNonNull(columnId, "columnId");
+        this.selectWithId = plan -> "SELECT " + escapeName(columnId) + "," + plan.getSelectColumns()
+                + " FROM " + plan.getTable() + plan.getWhereLinkIdIn();
+        this.deleteById = plan -> "DELETE FROM " + plan.getTable()
+                + " WHERE " + escapeName(columnId) + " IN (";
+    }
+
+    @Override
+    public void store(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long linkId,
+            Map<? extends KeySpec, List<Object>> values
+    ) throws SQLException {
+        storeAll(mapper, connection, tableName, Collections.singletonMap(linkId, values));
+    }
+
+    @Override
+    public void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        for (PreparedWrite write : prepareStoreAll(mapper, connection, tableName, values)) {
+            write.execute(connection);
+        }
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Collecting keys of all entities
+        HashMap<Integer, KeySpec> reverseMap = new HashMap<>();
+        ArrayList<Long> linkIds = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            linkIds.add(entry.getKey());
+            for (KeySpec key : entry.getValue().keySet()) {
+                reverseMap.put(key.getTypeId(), key);
+            }
+        }
+        if (linkIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Reading rows already present in database
+        Map<Long, List<ChangesDetector.StoredValue<Long, KeySpec>>> stored = findStored(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                reverseMap
+        );
+
+        // Calculating difference
+        LinkedHashSet<Long> idsToDelete = new LinkedHashSet<>();
+        LinkedHashMap<Long, Map<KeySpec, List<Object>>> valuesToInsert = new LinkedHashMap<>();
+        for (Long linkId : linkIds) {
+            LinkedHashMap<KeySpec, List<Object>> entity = new LinkedHashMap<>(values.get(linkId));
+            ChangesDetector<Long, KeySpec> detector = new ChangesDetector<>(
+                    entity,
+                    stored.getOrDefault(linkId, Collections.emptyList())
+            );
+            idsToDelete.addAll(detector.calculateIdToDelete());
+            Map<KeySpec, List<Object>> toInsert = detector.calculateValuesToInsert();
+            if (!toInsert.isEmpty()) {
+                valuesToInsert.put(linkId, toInsert);
+            }
+        }
+
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        if (!idsToDelete.isEmpty()) {
+            String prefix = plan(tableName).getFragment(deleteById);
+            for (List<Long> chunk : chunking.split(idsToDelete)) {
+                int count = chunking.placeholders(chunk.size());
+                StringBuilder sb = new StringBuilder(prefix.length() + 2 * count);
+                sb.append(prefix);
+                MySqlQueryPlan.appendPlaceholders(sb, count);
+                sb.append(")");
+                writes.add(new Write(sb.toString(), (stmt, offset) -> setLinkIds(stmt, offset, chunk, count)));
+            }
+        }
+        writes.addAll(prepareInserts(mapper, tableName, valuesToInsert));
+        return writes;
+    }
+
+    /**
+     * Reads rows already present in database along with their primary keys.
+     *
+     * @param mapper     Entity data mapper.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Link identifiers to read.
+     * @param reverseMap Keys to read, indexed by type identifier.
+     * @return Stored values, grouped by link identifier.
+     * @throws SQLException On database error.
+     */
+    private Map<Long, List<ChangesDetector.StoredValue<Long, KeySpec>>> findStored(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Map<Integer, KeySpec> reverseMap
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(mapper, tableName);
+        String select = plan.getFragment(selectWithId);
+        String typeIdIn = plan.getTypeIdIn();
+        ArrayList<KeySpec> keys = new ArrayList<>(reverseMap.values());
+        int keysCount = chunking.placeholders(keys.size());
+        boolean forUpdate = insideTransaction(connection);
+
+        HashMap<Long, List<ChangesDetector.StoredValue<Long, KeySpec>>> response = new HashMap<>();
+        for (List<Long> chunk : chunking.split(new HashSet<>(linkIds))) {
+            int linkIdsCount = chunking.placeholders(chunk.size());
+            StringBuilder sb = new StringBuilder(
+                    select.length() + typeIdIn.length() + 2 * (linkIdsCount + keysCount) + FOR_UPDATE.length()
+            );
+            sb.append(select);
+            MySqlQueryPlan.appendPlaceholders(sb, linkIdsCount);
+            sb.append(typeIdIn);
+            MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+            sb.append(")");
+            if (forUpdate) {
+                // Inside transaction
+                sb.append(FOR_UPDATE);
+            }
+
+            try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+                int offset = setLinkIds(stmt, 1, chunk, linkIdsCount);
+                setTypeIds(stmt, offset, keys, keysCount);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long id = rs.getLong(1);
+                        long linkId = rs.getLong(2);
+                        KeySpec key = reverseMap.get(rs.getInt(3));
+                        if (key == null) {
+                            // Key not resolved
+                            continue;
+                        }
+                        Object value = mapper.readObjectValue(rs, 4);
+                        if (value == null) {
+                            value = NULL_VALUE;
+                        }
+
+                        List<ChangesDetector.StoredValue<Long, KeySpec>> list = response.get(linkId);
+                        if (list == null) {
+                            list = new ArrayList<>();
+                            response.put(linkId, list);
+                        }
+                        list.add(new ChangesDetector.StoredValue<>(id, key, value));
+                    }
+                }
+            }
+        }
+        return response;
+    }
+}
@@ -1,7 +1,13 @@
 package io.github.mjcro.mosaic.handlers.sql.mysql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
 import io.github.mjcro.mosaic.handlers.sql.Mapper;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -28,6 +34,8 @@ public class MySqlMinimalLayout extends MySqlBasicLayout {
             "typeId"
     );
 
+    private final MySqlQueryPlan.Fragment deletePrefix = plan -> "DELETE FROM " + plan.getTable();
+
     /**
      * Constructs minimal MySQL layout with given column names.
      *
@@ -40,6 +48,19 @@ public class MySqlMinimalLayout extends MySqlBasicLayout {
         super(detectTransaction, columnLinkId, columnTypeId);
     }
 
+    /**
+     * Constructs minimal MySQL layout with given column names.
+     *
+     * @param detectTransaction If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                          while reading data.
+     * @param columnLinkId      Column name to store link identifier.
+     * @param columnTypeId      Column name to store type identifier.
+     * @param chunking          Defines how many link identifiers can be used within single statement.
+     */
+    public MySqlMinimalLayout(boolean detectTransaction, String columnLinkId, String columnTypeId, Chunking chunking) {
+        super(detectTransaction, columnLinkId, columnTypeId, chunking);
+    }
+
     @Override
     public <Key extends KeySpec> Map<Long, Map<Key, List<Object>>> findByLinkId(
             Mapper mapper,
@@ -58,6 +79,91 @@ public class MySqlMinimalLayout extends MySqlBasicLayout {
         );
     }
 
+    @Override
+    public <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return findByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                null
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> Map<Key, Column> findColumns(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return findColumns0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                null
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return prepareFindByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                null
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return openByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                null,
+                fetchSize
+        );
+    }
+
+    @Override
+    public List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tableName,
+            long afterLinkId,
+            Collection<? extends KeySpec> keys,
+            int limit
+    ) throws SQLException {
+        return findLinkIdsAfter0(connection, tableName, afterLinkId, keys, limit, null);
+    }
+
     @Override
     public void store(
             Mapper mapper,
@@ -75,6 +181,36 @@ public class MySqlMinimalLayout extends MySqlBasicLayout {
         );
     }
 
+    @Override
+    public void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        storeAll0(
+                mapper,
+                connection,
+                tableName,
+                values
+        );
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        return prepareStoreAll0(
+                mapper,
+                connection,
+                tableName,
+                values
+        );
+    }
+
     @Override
     public void delete(
             Connection connection,
@@ -82,8 +218,29 @@ public class MySqlMinimalLayout extends MySqlBasicLayout {
             long linkId,
             Collection<? extends KeySpec> keys
     ) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("DELETE FROM ").append(escapeName(tableName));
-        appendWhereAndExecute(sb, connection, linkId, null, keys);
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(plan, plan.getFragment(deletePrefix), connection, linkId, null, keys);
+    }
+
+    @Override
+    public void deleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(plan, plan.getFragment(deletePrefix), connection, linkIds, null, keys);
+    }
+
+    @Override
+    protected List<PreparedWrite> prepareDeleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        return prepareWhere(plan, plan.getFragment(deletePrefix), linkIds, null, keys);
     }
 }
@@ -1,18 +1,22 @@
 package io.github.mjcro.mosaic.handlers.sql.mysql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
 import io.github.mjcro.mosaic.handlers.sql.Mapper;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Persistent (no physical data deletion) layout that tracks both creation and modification time
@@ -27,8 +31,8 @@ import java.util.stream.Collectors;
  * - modified - Unix timestamp in seconds of the last activity flag change (deletion)
  * - ... - value column(s), names are provided by mapper
  * <p>
- * On store, single-valued entries equal to existing active values are skipped to avoid
- * redundant inserts. Multi-valued entries are always written. Deletion is performed by setting
+ * On store, values are compared as sets with active ones: only removed values are deactivated
+ * and only added values are inserted, so unchanged data causes no writes. Deletion is performed by setting
  * the activity flag to 0 and updating the modification timestamp; rows are never removed.
  */
 public class MySqlPersistentWithChangesAndCreationModificationTimeSeconds extends MySqlBasicLayout {
@@ -45,6 +49,10 @@ public class MySqlPersistentWithChangesAndCreationModificationTimeSeconds extend
     protected final String columnCreationTime;
     protected final String columnModificationTime;
 
+    private final WhereClauseInjector activeOnly;
+    private final MySqlQueryPlan.Fragment deletePrefix;
+    private final MySqlQueryPlan.Fragment deactivateValue;
+
     /**
      * Constructs persistent MySQL layout with given column names.
      *
@@ -64,10 +72,49 @@ public class MySqlPersistentWithChangesAndCreationModificationTimeSeconds extend
             String columnCreationTime,
             String columnModificationTime
     ) {
-        super(detectTransaction, columnLinkId, columnTypeId);
+        this(
+                detectTransaction,
+                columnLinkId,
+                columnTypeId,
+                columnIsActive,
+                columnCreationTime,
+                columnModificationTime,
+                Chunking.DEFAULT
+        );
+    }
+
+    /**
+     * Constructs persistent MySQL layout with given column names.
+     *
+     * @param detectTransaction      If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                               while reading data.
+     * @param columnLinkId           Column name to store link identifier. Not nullable.
+     * @param columnTypeId           Column name to store type identifier. Not nullable.
+     * @param columnIsActive         Column name to store boolean 0/1 activity flag. Not nullable.
+     * @param columnCreationTime     Column name to store creation timestamp. Not nullable.
+     * @param columnModificationTime Column name to store last modification timestamp. Not nullable.
+     * @param chunking               Defines how many link identifiers can be used within single statement.
+     *                               Not nullable.
+     */
+    public MySqlPersistentWithChangesAndCreationModificationTimeSeconds(
+            boolean detectTransaction,
+            String columnLinkId,
+            String columnTypeId,
+            String columnIsActive,
+            String columnCreationTime,
+            String columnModificationTime,
+            Chunking chunking
+    ) {
+        super(detectTransaction, columnLinkId, columnTypeId, chunking);
         this.columnIsActive = Objects.requireNonNull(columnIsActive, "columnIsActive");
         this.columnCreationTime = Objects.requireNonNull(columnCreationTime, "columnCreationTime");
         this.columnModificationTime = Objects.requireNonNull(columnModificationTime, "columnModificationTime");
+        this.activeOnly = sb -> sb.append(escapeName(columnIsActive)).append("=1 AND");
+        this.deletePrefix = plan -> "UPDATE " + plan.getTable()
+                + " SET " + escapeName(columnIsActive) + "=0," + escapeName(columnModificationTime) + "=?";
+        this.deactivateValue = plan -> plan.getFragment(deletePrefix)
+                + " WHERE " + escapeName(columnLinkId) + "=? AND " + escapeName(columnTypeId) + "=? AND "
+                + escapeName(columnIsActive) + "=1 AND " + plan.getValueCondition();
     }
 
     @Override
@@ -84,68 +131,131 @@ public class MySqlPersistentWithChangesAndCreationModificationTimeSeconds extend
                 tableName,
                 linkIds,
                 keys,
-                sb -> sb.append(escapeName(columnIsActive)).append("=1 AND")
+                activeOnly
         );
     }
 
     @Override
-    public void store(
+    public <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
             Mapper mapper,
             Connection connection,
             String tableName,
-            long linkId,
-            Map<? extends KeySpec, List<Object>> values0
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return findByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> Map<Key, Column> findColumns(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
     ) throws SQLException {
-        if (values0 == null || values0.isEmpty()) {
-            return;
-        }
-        Map<? extends KeySpec, List<Object>> values;
+        return findColumns0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
 
-        // Searching for existing values
-        Map<? extends KeySpec, Object> existing = findByLinkId(
+    @Override
+    public <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return prepareFindByLinkId0(
                 mapper,
                 connection,
                 tableName,
-                Collections.singleton(linkId),
-                values0.keySet()
-        )
-                .getOrDefault(linkId, Collections.emptyMap())
-                .entrySet()
-                .stream()
-                .filter($ -> $.getValue().size() == 1)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        $ -> $.getValue().get(0)
-                ));
-
-        values = values0.entrySet()
-                .stream()
-                .filter($entry -> {
-                    if ($entry.getValue().size() != 1) {
-                        // Skipping list values to simplify check
-                        return true;
-                    }
-                    // Value to store equals to one already existing in database
-                    return !Objects.equals(existing.get($entry.getKey()), $entry.getValue().get(0));
-                })
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (x, y) -> x,
-                        LinkedHashMap::new
-                ));
-
-        if (values.isEmpty()) {
-            return;
-        }
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
 
+    @Override
+    public <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return openByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly,
+                fetchSize
+        );
+    }
+
+    @Override
+    public List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tableName,
+            long afterLinkId,
+            Collection<? extends KeySpec> keys,
+            int limit
+    ) throws SQLException {
+        return findLinkIdsAfter0(connection, tableName, afterLinkId, keys, limit, activeOnly);
+    }
+
+    @Override
+    public void store(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long linkId,
+            Map<? extends KeySpec, List<Object>> values
+    ) throws SQLException {
+        storeAll(mapper, connection, tableName, Collections.singletonMap(linkId, values));
+    }
+
+    @Override
+    public void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        PreparedWrite.executeBatched(connection, prepareStoreAll(mapper, connection, tableName, values));
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
         long currentTime = Instant.now().getEpochSecond();
-        store0(
+        return prepareStoreChanges0(
                 mapper,
                 connection,
                 tableName,
-                linkId,
                 values,
+                deactivateValue,
+                new Object[]{currentTime},
                 new AdditionalColumn(columnIsActive, (stmt, offset) -> stmt.setInt(offset, 1)),
                 new AdditionalColumn(columnCreationTime, (stmt, offset) -> stmt.setLong(offset, currentTime)),
                 new AdditionalColumn(columnModificationTime, (stmt, offset) -> stmt.setLong(offset, currentTime))
@@ -159,10 +269,49 @@ public class MySqlPersistentWithChangesAndCreationModificationTimeSeconds extend
             long linkId,
             Collection<? extends KeySpec> keys
     ) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("UPDATE ").append(tableName).append(" SET ")
-                .append(escapeName(columnIsActive)).append("=0,")
-                .append(escapeName(columnModificationTime)).append("=").append(Instant.now().getEpochSecond());
-        appendWhereAndExecute(sb, connection, linkId, null, keys);
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(
+                plan,
+                plan.getFragment(deletePrefix),
+                connection,
+                linkId,
+                new Object[]{Instant.now().getEpochSecond()},
+                keys
+        );
+    }
+
+    @Override
+    public void deleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(
+                plan,
+                plan.getFragment(deletePrefix),
+                connection,
+                linkIds,
+                new Object[]{Instant.now().getEpochSecond()},
+                keys
+        );
+    }
+
+    @Override
+    protected List<PreparedWrite> prepareDeleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        return prepareWhere(
+                plan,
+                plan.getFragment(deletePrefix),
+                linkIds,
+                new Object[]{Instant.now().getEpochSecond()},
+                keys
+        );
     }
 }
@@ -1,12 +1,19 @@
 package io.github.mjcro.mosaic.handlers.sql.mysql;
 
+import io.github.mjcro.mosaic.EntityCursor;
 import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedRead;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
 import io.github.mjcro.mosaic.handlers.sql.Mapper;
+import io.github.mjcro.mosaic.util.Column;
+import io.github.mjcro.mosaic.util.LongObjectMap;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -24,6 +31,9 @@ import java.util.Objects;
  * <p>
  * Whenever data is requested to be deleted, it will be actually deleted from
  * database.
+ * <p>
+ * On store, values are compared as sets with active ones: only removed values are
+ * deactivated and only added values are inserted.
  */
 public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
     public static final MySqlPersistentWithCreationTimeSeconds DEFAULT = new MySqlPersistentWithCreationTimeSeconds(
@@ -37,6 +47,10 @@ public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
     protected final String columnIsActive;
     protected final String columnCreationTime;
 
+    private final WhereClauseInjector activeOnly;
+    private final MySqlQueryPlan.Fragment deletePrefix;
+    private final MySqlQueryPlan.Fragment deactivateValue;
+
     /**
      * Constructs persistent MySQL layout with given column names.
      *
@@ -54,9 +68,37 @@ public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
             String columnIsActive,
             String columnCreationTime
     ) {
-        super(detectTransaction, columnLinkId, columnTypeId);
+        this(detectTransaction, columnLinkId, columnTypeId, columnIsActive, columnCreationTime, Chunking.DEFAULT);
+    }
+
+    /**
+     * Constructs persistent MySQL layout with given column names.
+     *
+     * @param detectTransaction  If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                           while reading data.
+     * @param columnLinkId       Column name to store link identifier.
+     * @param columnTypeId       Column name to store type identifier.
+     * @param columnIsActive     Column name to store boolean 0/1 activity flag.
+     * @param columnCreationTime Column name to store creation timestamp in seconds.
+     * @param chunking           Defines how many link identifiers can be used within single statement.
+     */
+    public MySqlPersistentWithCreationTimeSeconds(
+            boolean detectTransaction,
+            String columnLinkId,
+            String columnTypeId,
+            String columnIsActive,
+            String columnCreationTime,
+            Chunking chunking
+    ) {
+        super(detectTransaction, columnLinkId, columnTypeId, chunking);
         this.columnIsActive = Objects.requireNonNull(columnIsActive, "columnIsActive");
         this.columnCreationTime = Objects.requireNonNull(columnCreationTime, "columnCreationTime");
+        this.activeOnly = sb -> sb.append(escapeName(columnIsActive)).append("=1 AND");
+        this.deletePrefix = plan -> "UPDATE " + plan.getTable()
+                + " SET " + escapeName(columnIsActive) + "=0";
+        this.deactivateValue = plan -> plan.getFragment(deletePrefix)
+                + " WHERE " + escapeName(columnLinkId) + "=? AND " + escapeName(columnTypeId) + "=? AND "
+                + escapeName(columnIsActive) + "=1 AND " + plan.getValueCondition();
     }
 
     @Override
@@ -73,10 +115,95 @@ public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
                 tableName,
                 linkIds,
                 keys,
-                sb -> sb.append(escapeName(columnIsActive)).append("=1 AND")
+                activeOnly
         );
     }
 
+    @Override
+    public <Key extends KeySpec> LongObjectMap<Map<Key, List<Object>>> findByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return findByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> Map<Key, Column> findColumns(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long[] linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return findColumns0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> PreparedRead<Key> prepareFindByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<Key> keys
+    ) throws SQLException {
+        return prepareFindByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly
+        );
+    }
+
+    @Override
+    public <Key extends KeySpec> EntityCursor<Key> openByLinkId(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            List<Long> linkIds,
+            Collection<Key> keys,
+            int fetchSize
+    ) throws SQLException {
+        return openByLinkId0(
+                mapper,
+                connection,
+                tableName,
+                linkIds,
+                keys,
+                activeOnly,
+                fetchSize
+        );
+    }
+
+    @Override
+    public List<Long> findLinkIdsAfter(
+            Connection connection,
+            String tableName,
+            long afterLinkId,
+            Collection<? extends KeySpec> keys,
+            int limit
+    ) throws SQLException {
+        return findLinkIdsAfter0(connection, tableName, afterLinkId, keys, limit, activeOnly);
+    }
+
     @Override
     public void store(
             Mapper mapper,
@@ -84,16 +211,37 @@ public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
             String tableName,
             long linkId,
             Map<? extends KeySpec, List<Object>> values
+    ) throws SQLException {
+        storeAll(mapper, connection, tableName, Collections.singletonMap(linkId, values));
+    }
+
+    @Override
+    public void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        PreparedWrite.executeBatched(connection, prepareStoreAll(mapper, connection, tableName, values));
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
     ) throws SQLException {
         // Current time
         long currentTime = Instant.now().getEpochSecond();
 
-        store0(
+        return prepareStoreChanges0(
                 mapper,
                 connection,
                 tableName,
-                linkId,
                 values,
+                deactivateValue,
+                null,
                 new AdditionalColumn(columnIsActive, (stmt, offset) -> stmt.setInt(offset, 1)),
                 new AdditionalColumn(columnCreationTime, (stmt, offset) -> stmt.setLong(offset, currentTime))
         );
@@ -106,8 +254,29 @@ public class MySqlPersistentWithCreationTimeSeconds extends MySqlBasicLayout {
             long linkId,
             Collection<? extends KeySpec> keys
     ) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("UPDATE ").append(tableName).append(" SET ").append(escapeName(columnIsActive)).append("=0");
-        appendWhereAndExecute(sb, connection, linkId, null, keys);
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(plan, plan.getFragment(deletePrefix), connection, linkId, null, keys);
+    }
+
+    @Override
+    public void deleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        appendWhereAndExecute(plan, plan.getFragment(deletePrefix), connection, linkIds, null, keys);
+    }
+
+    @Override
+    protected List<PreparedWrite> prepareDeleteAll(
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<? extends KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(tableName);
+        return prepareWhere(plan, plan.getFragment(deletePrefix), linkIds, null, keys);
     }
 }
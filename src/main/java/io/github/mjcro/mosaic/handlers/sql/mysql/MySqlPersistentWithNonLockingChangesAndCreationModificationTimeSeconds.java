@@ -0,0 +1,375 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.PreparedWrite;
+import io.github.mjcro.mosaic.exceptions.IllegalDatabaseEntityNameException;
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
+import io.github.mjcro.mosaic.handlers.sql.Mapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent layout with same columns and semantics as {@link MySqlPersistentWithChangesAndCreationModificationTimeSeconds},
+ * but never locking rows it reads while storing and leaving concurrency control to conditional writes.
+ * <p>
+ * Store still reads active values before writing: all stored keys are read once using plain
+ * (consistent, non-locking) SELECT, even inside transactions, and compared with new ones as sets.
+ * Unchanged keys cause no writes, so storing unchanged data costs exactly one statement.
+ * Changed keys are written using:
+ * - single UPDATE deactivating removed values; for single-valued keys all active values different
+ * from given one are deactivated, so value stored concurrently is replaced too
+ * - INSERT ... SELECT ... WHERE NOT EXISTS adding new active row only if row with same value is not active yet
+ * <p>
+ * Since reads are not locked, concurrent stores may both insert same value. Such duplicate active rows
+ * are deactivated and replaced by single row on next store of the key.
+ * <p>
+ * Values are compared using SQL equality, so value columns should not be nullable.
+ */
+public class MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds extends MySqlPersistentWithChangesAndCreationModificationTimeSeconds {
+    public static final MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds DEFAULT = new MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds(
+            true,
+            "linkId",
+            "typeId",
+            "active",
+            "created",
+            "modified"
+    );
+
+    private final WhereClauseInjector activeOnly;
+    private final MySqlQueryPlan.Fragment deactivatePrefix;
+    private final MySqlQueryPlan.Fragment keyCondition;
+    private final MySqlQueryPlan.Fragment valueCondition;
+    private final MySqlQueryPlan.Fragment otherValuesCondition;
+    private final MySqlQueryPlan.Fragment insertIfAbsent;
+
+    /**
+     * Constructs persistent MySQL layout with given column names.
+     *
+     * @param detectTransaction      If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                               while reading data using find methods. Store never locks rows it reads.
+     * @param columnLinkId           Column name to store link identifier. Not nullable.
+     * @param columnTypeId           Column name to store type identifier. Not nullable.
+     * @param columnIsActive         Column name to store boolean 0/1 activity flag. Not nullable.
+     * @param columnCreationTime     Column name to store creation timestamp. Not nullable.
+     * @param columnModificationTime Column name to store last modification timestamp. Not nullable.
+     */
+    public MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds(
+            boolean detectTransaction,
+            String columnLinkId,
+            String columnTypeId,
+            String columnIsActive,
+            String columnCreationTime,
+            String columnModificationTime
+    ) {
+        this(
+                detectTransaction,
+                columnLinkId,
+                columnTypeId,
+                columnIsActive,
+                columnCreationTime,
+                columnModificationTime,
+                Chunking.DEFAULT
+        );
+    }
+
+    /**
+     * Constructs persistent MySQL layout with given column names.
+     *
+     * @param detectTransaction      If true, layout will detect transactional context and insert "FOR UPDATE"
+     *                               while reading data using find methods. Store never locks rows it reads.
+     * @param columnLinkId           Column name to store link identifier. Not nullable.
+     * @param columnTypeId           Column name to store type identifier. Not nullable.
+     * @param columnIsActive         Column name to store boolean 0/1 activity flag. Not nullable.
+     * @param columnCreationTime     Column name to store creation timestamp. Not nullable.
+     * @param columnModificationTime Column name to store last modification timestamp. Not nullable.
+     * @param chunking               Defines how many link identifiers can be used within single statement.
+     *                               Not nullable.
+     */
+    public MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds(
+            boolean detectTransaction,
+            String columnLinkId,
+            String columnTypeId,
+            String columnIsActive,
+            String columnCreationTime,
+            String columnModificationTime,
+            Chunking chunking
+    ) {
+        super(
+                detectTransaction,
+                columnLinkId,
+                columnTypeId,
+                columnIsActive,
+                columnCreationTime,
+                columnModificationTime,
+                chunking
+        );
+        this.activeOnly = sb -> sb.append(escapeName(columnIsActive)).append("=1 AND");
+        this.deactivatePrefix = plan -> "UPDATE " + plan.getTable()
+                + " SET " + escapeName(columnIsActive) + "=0," + escapeName(columnModificationTime) + "=?"
+                + " WHERE " + escapeName(columnIsActive) + "=1 AND (";
+        this.keyCondition = plan -> "(" + escapeName(columnLinkId) + "=? AND " + escapeName(columnTypeId) + "=?)";
+        this.valueCondition = plan -> "(" + escapeName(columnLinkId) + "=? AND " + escapeName(columnTypeId) + "=?"
+                + " AND " + plan.getValueCondition() + ")";
+        this.otherValuesCondition = plan -> "(" + escapeName(columnLinkId) + "=? AND " + escapeName(columnTypeId) + "=?"
+                + " AND NOT (" + plan.getValueCondition() + "))";
+        this.insertIfAbsent = plan -> {
+            StringBuilder sb = new StringBuilder();
+            sb.append("INSERT INTO ").append(plan.getTable()).append(" (")
+                    .append(escapeName(columnLinkId)).append(",")
+                    .append(escapeName(columnTypeId)).append(",")
+                    .append(escapeName(columnIsActive)).append(",")
+                    .append(escapeName(columnCreationTime)).append(",")
+                    .append(escapeName(columnModificationTime)).append(",")
+                    .append(String.join(",", plan.getValueColumns()))
+                    .append(") SELECT ?,?,1,?,?,");
+            MySqlQueryPlan.appendPlaceholders(sb, plan.getColumnCount());
+            sb.append(" FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM ").append(plan.getTable())
+                    .append(" WHERE ").append(activeKeyCondition())
+                    .append(" AND ").append(plan.getValueCondition()).append(")");
+            return sb.toString();
+        };
+    }
+
+    @Override
+    public void store(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            long linkId,
+            Map<? extends KeySpec, List<Object>> values
+    ) throws SQLException {
+        storeAll(mapper, connection, tableName, Collections.singletonMap(linkId, values));
+    }
+
+    @Override
+    public void storeAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        PreparedWrite.executeBatched(connection, prepareStoreAll(mapper, connection, tableName, values));
+    }
+
+    @Override
+    public List<PreparedWrite> prepareStoreAll(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Map<Long, ? extends Map<? extends KeySpec, List<Object>>> values
+    ) throws SQLException {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Reading active values of all entities at once
+        HashSet<KeySpec> keys = new HashSet<>();
+        for (Map<? extends KeySpec, List<Object>> entity : values.values()) {
+            if (entity != null) {
+                keys.addAll(entity.keySet());
+            }
+        }
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Map<KeySpec, List<Object>>> existing = findActive(mapper, connection, tableName, values.keySet(), keys);
+
+        MySqlQueryPlan plan = plan(mapper, tableName);
+        String insert = plan.getFragment(insertIfAbsent);
+        int columns = plan.getColumnCount();
+        long currentTime = Instant.now().getEpochSecond();
+
+        ArrayList<Condition> deactivations = new ArrayList<>();
+        ArrayList<PreparedWrite> inserts = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Map<? extends KeySpec, List<Object>>> entry : values.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            long linkId = entry.getKey();
+            Map<KeySpec, List<Object>> stored = existing.getOrDefault(linkId, Collections.emptyMap());
+            for (Map.Entry<? extends KeySpec, List<Object>> value : entry.getValue().entrySet()) {
+                int typeId = value.getKey().getTypeId();
+                List<Object> newValues = nonNullValues(value.getValue());
+                List<Object> before = stored.getOrDefault(value.getKey(), Collections.emptyList());
+                HashSet<Object> present = new HashSet<>(before);
+                HashSet<Object> after = new HashSet<>(newValues);
+                if (present.size() == before.size() && present.equals(after)) {
+                    // Unchanged and without duplicate rows
+                    continue;
+                }
+
+                if (newValues.isEmpty()) {
+                    deactivations.add(new Condition(plan.getFragment(keyCondition), linkId, typeId, null));
+                    continue;
+                } else if (newValues.size() == 1) {
+                    if (!before.isEmpty()) {
+                        deactivations.add(new Condition(
+                                plan.getFragment(otherValuesCondition),
+                                linkId,
+                                typeId,
+                                newValues.get(0)
+                        ));
+                    }
+                } else {
+                    for (Object o : present) {
+                        if (!after.contains(o)) {
+                            deactivations.add(new Condition(plan.getFragment(valueCondition), linkId, typeId, o));
+                        }
+                    }
+                }
+
+                // Kept values stored more than once are deactivated entirely and inserted again
+                HashSet<Object> seen = new HashSet<>();
+                for (Object o : before) {
+                    if (!seen.add(o) && after.contains(o) && present.remove(o)) {
+                        deactivations.add(new Condition(plan.getFragment(valueCondition), linkId, typeId, o));
+                    }
+                }
+                for (Object o : newValues) {
+                    if (!present.add(o)) {
+                        continue;
+                    }
+                    inserts.add(new Write(insert, (stmt, offset) -> {
+                        stmt.setLong(offset++, linkId);
+                        stmt.setInt(offset++, typeId);
+                        stmt.setLong(offset++, currentTime);
+                        stmt.setLong(offset++, currentTime);
+                        mapper.setPlaceholdersValue(stmt, offset, o);
+                        offset += columns;
+                        stmt.setLong(offset++, linkId);
+                        stmt.setInt(offset++, typeId);
+                        mapper.setPlaceholdersValue(stmt, offset, o);
+                        return offset + columns;
+                    }));
+                }
+            }
+        }
+
+        // Deactivation must precede insertion, otherwise new row would be deactivated too
+        ArrayList<PreparedWrite> writes = new ArrayList<>();
+        String prefix = plan.getFragment(deactivatePrefix);
+        for (int from = 0; from < deactivations.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Condition> chunk = deactivations.subList(from, Math.min(deactivations.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder sb = new StringBuilder(prefix);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sb.append(" OR ");
+                }
+                sb.append(chunk.get(i).sql);
+            }
+            sb.append(")");
+            writes.add(new Write(sb.toString(), (stmt, offset) -> {
+                stmt.setLong(offset++, currentTime);
+                for (Condition condition : chunk) {
+                    stmt.setLong(offset++, condition.linkId);
+                    stmt.setInt(offset++, condition.typeId);
+                    if (condition.value != null) {
+                        mapper.setPlaceholdersValue(stmt, offset, condition.value);
+                        offset += columns;
+                    }
+                }
+                return offset;
+            }));
+        }
+        writes.addAll(inserts);
+        return writes;
+    }
+
+    /**
+     * Reads active values without locking them, even inside transaction.
+     *
+     * @param mapper     Entity data mapper.
+     * @param connection Database connection.
+     * @param tableName  Database table name.
+     * @param linkIds    Link identifiers to read.
+     * @param keys       Keys to read.
+     * @return Active values, grouped by link identifier.
+     * @throws SQLException On database error.
+     */
+    private Map<Long, Map<KeySpec, List<Object>>> findActive(
+            Mapper mapper,
+            Connection connection,
+            String tableName,
+            Collection<Long> linkIds,
+            Collection<KeySpec> keys
+    ) throws SQLException {
+        MySqlQueryPlan plan = plan(mapper, tableName);
+        String select = plan.getSelect(activeOnly);
+        String typeIdIn = plan.getTypeIdIn();
+        HashMap<Integer, KeySpec> reverseMap = new HashMap<>();
+        for (KeySpec key : keys) {
+            reverseMap.put(key.getTypeId(), key);
+        }
+        int keysCount = chunking.placeholders(keys.size());
+
+        HashMap<Long, Map<KeySpec, List<Object>>> response = new HashMap<>();
+        for (List<Long> chunk : chunking.split(linkIds)) {
+            int linkIdsCount = chunking.placeholders(chunk.size());
+            StringBuilder sb = new StringBuilder(select.length() + typeIdIn.length() + 2 * (linkIdsCount + keysCount));
+            sb.append(select);
+            MySqlQueryPlan.appendPlaceholders(sb, linkIdsCount);
+            sb.append(typeIdIn);
+            MySqlQueryPlan.appendPlaceholders(sb, keysCount);
+            sb.append(")");
+
+            try (PreparedStatement stmt = connection.prepareStatement(sb.toString())) {
+                int offset = setLinkIds(stmt, 1, chunk, linkIdsCount);
+                setTypeIds(stmt, offset, keys, keysCount);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        KeySpec key = reverseMap.get(rs.getInt(2));
+                        if (key == null) {
+                            // Key not resolved
+                            continue;
+                        }
+                        response.computeIfAbsent(rs.getLong(1), linkId -> new HashMap<>())
+                                .computeIfAbsent(key, k -> new ArrayList<>())
+                                .add(mapper.readObjectValue(rs, 3));
+                    }
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Builds condition matching active rows of single link identifier and type.
+     *
+     * @return SQL condition with link identifier and type identifier placeholders.
+     * @throws IllegalDatabaseEntityNameException If invalid column name given.
+     */
+    private String activeKeyCondition() throws IllegalDatabaseEntityNameException {
+        return escapeName(columnLinkId) + "=? AND "
+                + escapeName(columnTypeId) + "=? AND "
+                + escapeName(columnIsActive) + "=1";
+    }
+
+    /**
+     * Single condition of deactivating UPDATE.
+     */
+    private static final class Condition {
+        private final String sql;
+        private final long linkId;
+        private final int typeId;
+        private final Object value;
+
+        private Condition(String sql, long linkId, int typeId, Object value) {
+            this.sql = sql;
+            this.linkId = linkId;
+            this.typeId = typeId;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.handlers.sql.Mapper;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled SQL fragments for single (layout, mapper, table name) combination.
+ * <p>
+ * Plans are built once by {@link MySqlBasicLayout} and cached, so that each statement
+ * only needs to append placeholders to already escaped prefixes. Plans built without
+ * mapper contain no value columns and are used for statements, that do not touch them
+ * (i.e. deletes).
+ */
+public final class MySqlQueryPlan {
+    private static final int PRECOMPUTED_PLACEHOLDERS = 1024;
+    private static final MySqlBasicLayout.WhereClauseInjector NO_INJECTOR = sb -> {
+    };
+    private static final String PLACEHOLDERS;
+
+    static {
+        StringBuilder sb = new StringBuilder(PRECOMPUTED_PLACEHOLDERS * 2);
+        for (int i = 0; i < PRECOMPUTED_PLACEHOLDERS; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("?");
+        }
+        PLACEHOLDERS = sb.toString();
+    }
+
+    private final MySqlLayout layout;
+    private final String table;
+    private final String linkId;
+    private final String typeId;
+    private final String[] columns;
+    private final String selectColumns;
+    private final String select;
+    private final String typeIdIn;
+    private final String whereLinkIdEquals;
+    private final String whereLinkIdIn;
+    private final String orderByLinkId;
+    private final String scanSuffix;
+    private final ConcurrentHashMap<Fragment, String> fragments = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<MySqlBasicLayout.WhereClauseInjector, String> selects = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<MySqlBasicLayout.WhereClauseInjector, String> scans = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<List<String>, Insert> inserts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs query plan.
+     *
+     * @param layout    Layout plan is built for.
+     * @param mapper    Mapper plan is built for, nullable.
+     * @param tableName Database table name.
+     * @throws SQLException On invalid table or column name.
+     */
+    MySqlQueryPlan(MySqlLayout layout, Mapper mapper, String tableName) throws SQLException {
+        this.layout = layout;
+        this.table = layout.escapeName(tableName);
+
+        String[] names = mapper == null ? new String[0] : mapper.getColumnNames();
+        this.columns = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.columns[i] = layout.escapeName(names[i]);
+        }
+
+        this.linkId = layout.escapeName(layout.columnLinkId);
+        this.typeId = layout.escapeName(layout.columnTypeId);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(linkId).append(",").append(typeId);
+        for (String column : columns) {
+            sb.append(",").append(column);
+        }
+        this.selectColumns = sb.toString();
+        this.select = "SELECT " + selectColumns + " FROM " + table + " WHERE";
+
+        this.typeIdIn = ") AND " + typeId + " IN (";
+        this.whereLinkIdEquals = " WHERE " + linkId + " = ? AND " + typeId + " IN (";
+        this.whereLinkIdIn = " WHERE " + linkId + " IN (";
+        this.orderByLinkId = " ORDER BY " + linkId;
+        this.scanSuffix = ")" + orderByLinkId + " LIMIT ?";
+    }
+
+    /**
+     * @return Escaped table name.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return Amount of value columns.
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @return Escaped value column names.
+     */
+    public List<String> getValueColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    /**
+     * @return Condition matching value columns with placeholders, joined with AND.
+     */
+    public String getValueCondition() {
+        StringBuilder sb = new StringBuilder();
+        for (String column : columns) {
+            if (sb.length() > 0) {
+                sb.append(" AND ");
+            }
+            sb.append(column).append("=?");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return Comma separated escaped link identifier, type identifier and value columns,
+     * in order they are read by layouts.
+     */
+    public String getSelectColumns() {
+        return selectColumns;
+    }
+
+    /**
+     * Returns SELECT statement prefix ending with opened link identifiers IN clause.
+     * Prefixes are cached by injector identity, so layouts should keep injectors
+     * in fields instead of creating them on every call.
+     *
+     * @param injectWhere Additional condition to inject into WHERE block, nullable.
+     * @return SELECT statement prefix.
+     * @throws SQLException On error.
+     */
+    public String getSelect(MySqlBasicLayout.WhereClauseInjector injectWhere) throws SQLException {
+        MySqlBasicLayout.WhereClauseInjector key = injectWhere == null ? NO_INJECTOR : injectWhere;
+        String sql = selects.get(key);
+        if (sql == null) {
+            StringBuilder sb = new StringBuilder(select);
+            if (injectWhere != null) {
+                sb.append(" ");
+                injectWhere.accept(sb);
+            }
+            sb.append(" ").append(linkId).append(" IN (");
+
+            sql = sb.toString();
+            String previous = selects.putIfAbsent(key, sql);
+            if (previous != null) {
+                sql = previous;
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Returns keyset pagination statement prefix, selecting distinct link identifiers
+     * greater than placeholder value and ending with opened type identifiers IN clause.
+     * Prefixes are cached by injector identity, so layouts should keep injectors
+     * in fields instead of creating them on every call.
+     *
+     * @param injectWhere Additional condition to inject into WHERE block, nullable.
+     * @return SELECT statement prefix.
+     * @throws SQLException On error.
+     */
+    public String getScan(MySqlBasicLayout.WhereClauseInjector injectWhere) throws SQLException {
+        MySqlBasicLayout.WhereClauseInjector key = injectWhere == null ? NO_INJECTOR : injectWhere;
+        String sql = scans.get(key);
+        if (sql == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("SELECT DISTINCT ").append(linkId).append(" FROM ").append(table).append(" WHERE");
+            if (injectWhere != null) {
+                sb.append(" ");
+                injectWhere.accept(sb);
+            }
+            sb.append(" ").append(linkId).append(" > ? AND ").append(typeId).append(" IN (");
+
+            sql = sb.toString();
+            String previous = scans.putIfAbsent(key, sql);
+            if (previous != null) {
+                sql = previous;
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * @return Fragment closing type identifiers IN clause of keyset pagination statement, with
+     * ordering and limit placeholder.
+     */
+    public String getScanSuffix() {
+        return scanSuffix;
+    }
+
+    /**
+     * @return Fragment closing link identifiers IN clause and opening type identifiers one.
+     */
+    public String getTypeIdIn() {
+        return typeIdIn;
+    }
+
+    /**
+     * @return WHERE clause for single link identifier ending with opened type identifiers IN clause.
+     */
+    public String getWhereLinkIdEquals() {
+        return whereLinkIdEquals;
+    }
+
+    /**
+     * @return WHERE clause ending with opened link identifiers IN clause.
+     */
+    public String getWhereLinkIdIn() {
+        return whereLinkIdIn;
+    }
+
+    /**
+     * @return ORDER BY clause sorting rows by link identifier.
+     */
+    public String getOrderByLinkId() {
+        return orderByLinkId;
+    }
+
+    /**
+     * Returns INSERT statement parts for given additional columns.
+     * Parts are cached by additional column names.
+     *
+     * @param additionalColumns Additional columns to write.
+     * @return INSERT statement parts.
+     * @throws SQLException On invalid column name.
+     */
+    public Insert getInsert(MySqlBasicLayout.AdditionalColumn... additionalColumns) throws SQLException {
+        String[] names = new String[additionalColumns.length];
+        for (int i = 0; i < additionalColumns.length; i++) {
+            names[i] = additionalColumns[i].getColumnName();
+        }
+        List<String> key = Arrays.asList(names);
+        Insert cached = inserts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("INSERT INTO ").append(table);
+        sb.append(" (").append(linkId).append(",").append(typeId);
+        for (String name : names) {
+            sb.append(",").append(layout.escapeName(name));
+        }
+        for (String column : columns) {
+            sb.append(",").append(column);
+        }
+        sb.append(") VALUES ");
+        String prefix = sb.toString();
+
+        sb = new StringBuilder();
+        sb.append("(?,?");
+        for (int j = 0; j < additionalColumns.length + columns.length; j++) {
+            sb.append(",?");
+        }
+        sb.append(")");
+
+        cached = new Insert(prefix, sb.toString());
+        Insert previous = inserts.putIfAbsent(key, cached);
+        return previous == null ? cached : previous;
+    }
+
+    /**
+     * Returns layout-specific SQL fragment, building it on first access.
+     * Fragments are cached by identity, so layouts should keep them in fields.
+     *
+     * @param fragment Fragment definition.
+     * @return SQL fragment.
+     * @throws SQLException On error.
+     */
+    public String getFragment(Fragment fragment) throws SQLException {
+        String sql = fragments.get(fragment);
+        if (sql == null) {
+            sql = fragment.build(this);
+            String previous = fragments.putIfAbsent(fragment, sql);
+            if (previous != null) {
+                sql = previous;
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Appends comma separated placeholders to given string builder.
+     *
+     * @param sb    String builder.
+     * @param count Amount of placeholders.
+     */
+    public static void appendPlaceholders(StringBuilder sb, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (count <= PRECOMPUTED_PLACEHOLDERS) {
+            sb.append(PLACEHOLDERS, 0, count * 2 - 1);
+            return;
+        }
+        sb.append(PLACEHOLDERS);
+        for (int i = PRECOMPUTED_PLACEHOLDERS; i < count; i++) {
+            sb.append(",?");
+        }
+    }
+
+    /**
+     * Defines layout-specific SQL fragment, built using plan data.
+     */
+    @FunctionalInterface
+    public interface Fragment {
+        String build(MySqlQueryPlan plan) throws SQLException;
+    }
+
+    /**
+     * INSERT statement parts.
+     */
+    public static final class Insert {
+        private final String prefix;
+        private final String row;
+
+        private Insert(String prefix, String row) {
+            this.prefix = prefix;
+            this.row = row;
+        }
+
+        /**
+         * @return Statement prefix, ending with VALUES keyword.
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+
+        /**
+         * @return Placeholders for single row, including braces.
+         */
+        public String getRow() {
+            return row;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.mjcro.mosaic.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column of values of single key, stored as parallel arrays of link identifiers
+ * and values. Multi-valued keys produce several rows with same link identifier.
+ * <p>
+ * Implementations are {@link LongColumn}, holding primitive values, and {@link ObjectColumn}.
+ * This class is not thread safe.
+ */
+public abstract class Column {
+    private long[] linkIds;
+    private int size;
+
+    /**
+     * Constructs empty column.
+     *
+     * @param expectedSize Expected amount of rows.
+     */
+    Column(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize should not be negative");
+        }
+        this.linkIds = new long[expectedSize];
+    }
+
+    /**
+     * Converts data grouped by link identifiers into object columns.
+     *
+     * @param data Data, grouped by link identifiers.
+     * @return Columns, keys without data are absent.
+     */
+    public static <Key> Map<Key, Column> of(LongObjectMap<? extends Map<Key, List<Object>>> data) {
+        HashMap<Key, Column> response = new HashMap<>();
+        data.forEach((linkId, values) -> {
+            for (Map.Entry<Key, List<Object>> entry : values.entrySet()) {
+                ObjectColumn column = (ObjectColumn) response.computeIfAbsent(entry.getKey(), key -> new ObjectColumn());
+                for (Object value : entry.getValue()) {
+                    column.add(linkId, value);
+                }
+            }
+        });
+        return response;
+    }
+
+    /**
+     * @return Amount of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index Row index.
+     * @return Link identifier of row.
+     */
+    public long getLinkId(int index) {
+        checkIndex(index);
+        return linkIds[index];
+    }
+
+    /**
+     * @return Link identifiers of all rows.
+     */
+    public long[] getLinkIds() {
+        return Arrays.copyOf(linkIds, size);
+    }
+
+    /**
+     * Returns value of row, boxing it if needed.
+     *
+     * @param index Row index.
+     * @return Value of row.
+     */
+    public abstract Object getObject(int index);
+
+    /**
+     * Appends link identifier of new row, growing storage when needed.
+     *
+     * @param linkId Link identifier.
+     * @return Index of new row, value should be put at.
+     */
+    int append(long linkId) {
+        if (size == linkIds.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            linkIds = Arrays.copyOf(linkIds, capacity);
+            grow(capacity);
+        }
+        linkIds[size] = linkId;
+        return size++;
+    }
+
+    /**
+     * Grows values storage.
+     *
+     * @param capacity New capacity.
+     */
+    abstract void grow(int capacity);
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(linkIds[i]).append('=').append(getObject(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.mjcro.mosaic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Utility methods to work with primitive identifier arrays.
+ */
+public final class LongArrays {
+    private LongArrays() {
+    }
+
+    /**
+     * Unboxes given identifiers.
+     *
+     * @param values Identifiers.
+     * @return Identifiers array in iteration order.
+     */
+    public static long[] of(Collection<Long> values) {
+        long[] response = new long[values.size()];
+        int i = 0;
+        for (Long value : values) {
+            response[i++] = value;
+        }
+        return response;
+    }
+
+    /**
+     * Boxes given identifiers.
+     *
+     * @param values Identifiers.
+     * @return Identifiers list.
+     */
+    public static List<Long> asList(long[] values) {
+        ArrayList<Long> response = new ArrayList<>(values.length);
+        for (long value : values) {
+            response.add(value);
+        }
+        return response;
+    }
+
+    /**
+     * Removes duplicates from given identifiers.
+     *
+     * @param values Identifiers, not modified.
+     * @return Sorted identifiers without duplicates.
+     */
+    public static long[] distinct(long[] values) {
+        if (values.length == 0) {
+            return values;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+}
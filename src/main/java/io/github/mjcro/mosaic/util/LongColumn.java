@@ -0,0 +1,65 @@
+package io.github.mjcro.mosaic.util;
+
+import java.util.Arrays;
+
+/**
+ * Column of primitive values of single key.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class LongColumn extends Column {
+    private long[] values;
+
+    /**
+     * Constructs empty column.
+     */
+    public LongColumn() {
+        this(16);
+    }
+
+    /**
+     * Constructs empty column, able to hold given amount of rows without resizing.
+     *
+     * @param expectedSize Expected amount of rows.
+     */
+    public LongColumn(int expectedSize) {
+        super(expectedSize);
+        this.values = new long[expectedSize];
+    }
+
+    /**
+     * Appends row.
+     *
+     * @param linkId Link identifier.
+     * @param value  Value.
+     */
+    public void add(long linkId, long value) {
+        values[append(linkId)] = value;
+    }
+
+    /**
+     * @param index Row index.
+     * @return Value of row.
+     */
+    public long getValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @return Values of all rows, parallel to {@link #getLinkIds()}.
+     */
+    public long[] getValues() {
+        return Arrays.copyOf(values, size());
+    }
+
+    @Override
+    public Object getObject(int index) {
+        return getValue(index);
+    }
+
+    @Override
+    void grow(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
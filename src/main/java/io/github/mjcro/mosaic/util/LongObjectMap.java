@@ -0,0 +1,416 @@
+package io.github.mjcro.mosaic.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Open addressing hash map with primitive long keys, used to collect read
+ * results without boxing entity identifiers.
+ * <p>
+ * Null values are not supported. Entries are removed using backward shift,
+ * so no tombstones are left behind.
+ * This class is not thread safe.
+ *
+ * @param <V> Value type.
+ */
+public final class LongObjectMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs empty map.
+     */
+    public LongObjectMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Constructs empty map, able to hold given amount of entries without resizing.
+     *
+     * @param expectedSize Expected amount of entries.
+     */
+    public LongObjectMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2 && capacity > 0) {
+            capacity <<= 1;
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Constructs map containing all entries of given map.
+     *
+     * @param map Source map.
+     * @return Map copy.
+     */
+    public static <V> LongObjectMap<V> copyOf(Map<Long, ? extends V> map) {
+        LongObjectMap<V> copy = new LongObjectMap<>(map.size());
+        for (Map.Entry<Long, ? extends V> entry : map.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * @return Amount of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if map contains no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns value associated with given key.
+     *
+     * @param key Key.
+     * @return Value or null if key is absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * @param key Key.
+     * @return True if map contains given key.
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Associates value with given key.
+     *
+     * @param key   Key.
+     * @param value Value, not nullable.
+     * @return Previous value or null if key was absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Returns value associated with given key, creating it when key is absent.
+     *
+     * @param key     Key.
+     * @param factory Value factory, must not return null.
+     * @return Existing or created value.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        V value = Objects.requireNonNull(factory.apply(key), "value");
+        insert(slot, key, value);
+        return value;
+    }
+
+    /**
+     * Removes value associated with given key.
+     *
+     * @param key Key.
+     * @return Removed value or null if key was absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Removes all entries, keeping allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Passes all entries into given consumer.
+     *
+     * @param consumer Entry consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return All keys, in no particular order.
+     */
+    public long[] keys() {
+        long[] response = new long[size];
+        int j = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                response[j++] = keys[i];
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Returns {@link Map} view of this map. Keys are boxed on access only.
+     * View supports all operations except null values, changes are written through.
+     *
+     * @return Map view.
+     */
+    public Map<Long, V> asMap() {
+        return new MapView();
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void delete(int slot) {
+        int gap = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            // Entry moves into the gap unless its home slot lies between gap and its position
+            if (((i - slot(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+        size--;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void insert(int slot, long key, Object value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > values.length) {
+            rehash(values.length << 1);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("Map is too large");
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /**
+     * Consumer of map entries.
+     *
+     * @param <V> Value type.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    /**
+     * {@link Map} adapter over primitive map.
+     */
+    private final class MapView extends AbstractMap<Long, V> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long && LongObjectMap.this.containsKey((Long) key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof Long ? LongObjectMap.this.get((Long) key) : null;
+        }
+
+        @Override
+        public V put(Long key, V value) {
+            return LongObjectMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return key instanceof Long ? LongObjectMap.this.remove((Long) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            LongObjectMap.this.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<Long, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Long, V>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    LongObjectMap.this.clear();
+                }
+
+                @Override
+                public Iterator<Map.Entry<Long, V>> iterator() {
+                    return new ViewIterator();
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterator over map view. Walk starts right after an empty slot, so no
+     * cluster wraps around it and backward shift on removal only moves
+     * entries not yet visited into current or following slots.
+     */
+    private final class ViewIterator implements Iterator<Map.Entry<Long, V>> {
+        private final int start = emptySlot();
+        private int offset = advance(1);
+        private int last = -1;
+
+        private int emptySlot() {
+            int slot = 0;
+            while (values[slot] != null) {
+                slot++;
+            }
+            return slot;
+        }
+
+        private int advance(int from) {
+            while (from < values.length && values[(start + from) & mask] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < values.length;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = (start + offset) & mask;
+            offset = advance(offset + 1);
+            return new ViewEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            delete(last);
+            if (values[last] != null) {
+                // Slot was refilled by backward shift, visit it again
+                offset = (last - start) & mask;
+            }
+            last = -1;
+        }
+    }
+
+    /**
+     * Map entry, writing value changes through to map.
+     */
+    private final class ViewEntry extends AbstractMap.SimpleEntry<Long, V> {
+        @SuppressWarnings("unchecked")
+        private ViewEntry(int slot) {
+            super(keys[slot], (V) values[slot]);
+        }
+
+        @Override
+        public V setValue(V value) {
+            LongObjectMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.mjcro.mosaic.util;
+
+import java.util.Arrays;
+
+/**
+ * Column of object values of single key, used for values without primitive representation.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class ObjectColumn extends Column {
+    private Object[] values;
+
+    /**
+     * Constructs empty column.
+     */
+    public ObjectColumn() {
+        this(16);
+    }
+
+    /**
+     * Constructs empty column, able to hold given amount of rows without resizing.
+     *
+     * @param expectedSize Expected amount of rows.
+     */
+    public ObjectColumn(int expectedSize) {
+        super(expectedSize);
+        this.values = new Object[expectedSize];
+    }
+
+    /**
+     * Appends row.
+     *
+     * @param linkId Link identifier.
+     * @param value  Value.
+     */
+    public void add(long linkId, Object value) {
+        values[append(linkId)] = value;
+    }
+
+    /**
+     * @param index Row index.
+     * @return Value of row.
+     */
+    public Object getValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @return Values of all rows, parallel to {@link #getLinkIds()}.
+     */
+    public Object[] getValues() {
+        return Arrays.copyOf(values, size());
+    }
+
+    @Override
+    public Object getObject(int index) {
+        return getValue(index);
+    }
+
+    @Override
+    void grow(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
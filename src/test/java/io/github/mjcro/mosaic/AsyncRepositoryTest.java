@@ -0,0 +1,126 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.exceptions.NoSuitableTypeHandlerFoundException;
+import io.github.mjcro.mosaic.handlers.sql.mappers.BigDecimalMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.InstantSecondsMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlPersistentWithCreationTimeSeconds;
+import io.github.mjcro.mosaic.util.EnumMapBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+
+public class AsyncRepositoryTest extends BaseRepositoryTest {
+    @Test
+    public void testAsync() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_async_1;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AsyncRepository<Key> repository = new AsyncRepository<>(
+                    executor,
+                    () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_async_1;DB_CLOSE_DELAY=-1"),
+                    new TypeHandlerResolverMap()
+                            .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                            .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                            .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                            .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                            .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                    Key.class,
+                    "unitTest"
+            );
+
+            repository.storeAsync(1, EnumMapBuilder.ofClass(Key.class)
+                    .putSingle(Key.FIRST_NAME, "John")
+                    .putSingle(Key.PRICING_PLAN, 5L)
+                    .build()
+            ).thenCompose(ignored -> repository.storeAsync(2, EnumMapBuilder.ofClass(Key.class)
+                    .putSingle(Key.FIRST_NAME, "Jane")
+                    .build())
+            ).join();
+
+            Map<Key, List<Object>> first = repository.findByIdAsync(1).join();
+            Assertions.assertEquals(2, first.size());
+            Assertions.assertEquals("John", first.get(Key.FIRST_NAME).get(0));
+            Assertions.assertEquals(5L, first.get(Key.PRICING_PLAN).get(0));
+
+            Map<Long, Map<Key, List<Object>>> all = repository.findByIdAsync(
+                    Arrays.asList(1L, 2L, 3L),
+                    Collections.singletonList(Key.FIRST_NAME)
+            ).join();
+            Assertions.assertEquals(2, all.size());
+            Assertions.assertEquals("Jane", all.get(2L).get(Key.FIRST_NAME).get(0));
+
+            repository.deleteAsync(1).join();
+            Assertions.assertTrue(repository.findByIdAsync(1).join().isEmpty());
+            Assertions.assertTrue(repository.findByIdAsync(3).join().isEmpty());
+
+            // Missing type handler is detected at construction
+            IllegalArgumentException e = Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new AsyncRepository<>(
+                            executor,
+                            () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_async_1;DB_CLOSE_DELAY=-1"),
+                            new TypeHandlerResolverMap().with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper()),
+                            Key.class,
+                            "unitTest"
+                    )
+            );
+            Assertions.assertTrue(e.getCause() instanceof NoSuitableTypeHandlerFoundException);
+
+            // Database errors are wrapped into CompletionException
+            AsyncRepository<Key> broken = new AsyncRepository<>(
+                    executor,
+                    () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_async_empty;DB_CLOSE_DELAY=-1"),
+                    new TypeHandlerResolverMap()
+                            .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                            .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                            .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                            .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                            .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                    Key.class,
+                    "unitTest"
+            );
+            Throwable failure = failureOf(broken.findByIdAsync(1));
+            Assertions.assertTrue(failure instanceof CompletionException);
+            Assertions.assertTrue(failure.getCause() instanceof SQLException);
+
+            // Rejected work fails future instead of throwing
+            executor.shutdown();
+            CompletableFuture<Void> rejected = repository.storeAsync(3, EnumMapBuilder.ofClass(Key.class)
+                    .putSingle(Key.FIRST_NAME, "Jim")
+                    .build());
+            failure = failureOf(rejected);
+            Assertions.assertTrue(failure instanceof CompletionException);
+            Assertions.assertTrue(failure.getCause() instanceof RejectedExecutionException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        future.handle((ignored, e) -> {
+            failure.set(e);
+            return null;
+        }).join();
+        return failure.get();
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.handlers.sql.mappers.BigDecimalMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.InstantSecondsMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlPersistentWithCreationTimeSeconds;
+import io.github.mjcro.mosaic.util.EnumMapBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+
+public class BatchingLoaderTest extends BaseRepositoryTest {
+    @Test
+    public void testBatching() throws SQLException, ExecutionException, InterruptedException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_batching_1;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        AtomicInteger reads = new AtomicInteger();
+        Repository<Key> repository = new Repository<Key>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_batching_1;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        ) {
+            @Override
+            protected Map<Long, Map<Key, List<Object>>> find(
+                    Collection<Long> identifiers,
+                    Map<Class<?>, List<Key>> groupedByClass
+            ) throws SQLException {
+                reads.incrementAndGet();
+                return super.find(identifiers, groupedByClass);
+            }
+        };
+        repository.store(1, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .build());
+        repository.store(2, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jane")
+                .build());
+
+        BatchingLoader<Key> loader = new BatchingLoader<>(repository, 5);
+
+        // Explicit dispatch
+        CompletableFuture<Map<Key, List<Object>>> first = loader.load(1, Collections.singleton(Key.FIRST_NAME));
+        CompletableFuture<Map<Key, List<Object>>> second = loader.load(2);
+        CompletableFuture<Map<Key, List<Object>>> third = loader.load(1, Collections.singleton(Key.PRICING_PLAN));
+        CompletableFuture<Map<Key, List<Object>>> missing = loader.load(3);
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertEquals(4, loader.pending());
+        loader.dispatch();
+
+        Assertions.assertEquals(1, reads.get());
+        Assertions.assertEquals(1, first.get().size());
+        Assertions.assertEquals("John", first.get().get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals("Jane", second.get().get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(1, third.get().size());
+        Assertions.assertEquals(5L, third.get().get(Key.PRICING_PLAN).get(0));
+        Assertions.assertTrue(missing.get().isEmpty());
+        Assertions.assertEquals(0, loader.pending());
+
+        // Dispatch on full batch
+        for (long id = 1; id <= 5; id++) {
+            loader.load(id);
+        }
+        Assertions.assertEquals(2, reads.get());
+        Assertions.assertEquals(0, loader.pending());
+    }
+
+    @Test
+    public void testRejectedByScheduler() {
+        Repository<Key> repository = newRepository(null);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.shutdown();
+
+        // Delayed dispatch can not be scheduled
+        BatchingLoader<Key> delayed = new BatchingLoader<>(repository, scheduler, 5, Duration.ofSeconds(1));
+        CompletableFuture<Map<Key, List<Object>>> future = delayed.load(1);
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        Assertions.assertEquals(0, delayed.pending());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+        // Full batch can not be read
+        BatchingLoader<Key> full = new BatchingLoader<>(repository, scheduler, 1, Duration.ofSeconds(1));
+        future = full.load(1);
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        Assertions.assertEquals(0, full.pending());
+        e = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testDelegateError() {
+        Error error = new Error("Simulated failure");
+        Repository<Key> repository = newRepository(error);
+        BatchingLoader<Key> loader = new BatchingLoader<>(repository, 5);
+
+        CompletableFuture<Map<Key, List<Object>>> first = loader.load(1);
+        CompletableFuture<Map<Key, List<Object>>> second = loader.load(2, Collections.singleton(Key.FIRST_NAME));
+        Assertions.assertSame(error, Assertions.assertThrows(Error.class, loader::dispatch));
+
+        for (CompletableFuture<Map<Key, List<Object>>> future : Arrays.asList(first, second)) {
+            Assertions.assertTrue(future.isCompletedExceptionally());
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, future::get);
+            Assertions.assertSame(error, e.getCause());
+        }
+    }
+
+    private static Repository<Key> newRepository(Error error) {
+        return new Repository<Key>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_batching_2;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        ) {
+            @Override
+            protected Map<Long, Map<Key, List<Object>>> find(
+                    Collection<Long> identifiers,
+                    Map<Class<?>, List<Key>> groupedByClass
+            ) throws SQLException {
+                if (error != null) {
+                    throw error;
+                }
+                return super.find(identifiers, groupedByClass);
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.handlers.sql.mappers.BigDecimalMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.InstantSecondsMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlPersistentWithCreationTimeSeconds;
+import io.github.mjcro.mosaic.util.EnumMapBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+
+public class CachingRepositoryDecoratorTest extends BaseRepositoryTest {
+    @Test
+    public void testCaching() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_cache_1;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        Repository<Key> repository = new Repository<>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_cache_1;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        );
+        CachingRepositoryDecorator<Key> cache = new CachingRepositoryDecorator<>(repository, 2, Duration.ofMinutes(1));
+
+        Map<Key, List<Object>> entity = EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .build();
+        cache.store(1, entity);
+
+        // Partial read populates cache only with requested keys
+        Map<Key, List<Object>> read = cache.findById(1, Collections.singleton(Key.FIRST_NAME));
+        Assertions.assertEquals(1, read.size());
+        Assertions.assertEquals("John", read.get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> read.remove(Key.FIRST_NAME));
+
+        // Writing bypassing decorator, cached key is still served from cache
+        repository.store(1, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jack")
+                .putSingle(Key.PRICING_PLAN, 6L)
+                .build());
+        Assertions.assertEquals("John", cache.findById(1, Collections.singleton(Key.FIRST_NAME)).get(Key.FIRST_NAME).get(0));
+
+        // Missing key is read from database
+        Map<Key, List<Object>> full = cache.findById(1, Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN));
+        Assertions.assertEquals("John", full.get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(6L, full.get(Key.PRICING_PLAN).get(0));
+
+        // Writing through decorator invalidates entity
+        cache.store(1, EnumMapBuilder.ofClass(Key.class).putSingle(Key.FIRST_NAME, "Jim").build());
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals("Jim", cache.findById(1).get(Key.FIRST_NAME).get(0));
+
+        // Eviction of least recently used entity
+        cache.findById(2);
+        cache.findById(1);
+        cache.findById(3);
+        Assertions.assertEquals(2, cache.size());
+
+        // Delete invalidates entity
+        cache.delete(1);
+        Assertions.assertTrue(cache.findById(1).isEmpty());
+        Assertions.assertTrue(repository.findById(1).isEmpty());
+    }
+
+    @Test
+    public void testNegativeCaching() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_cache_2;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        Repository<Key> repository = new Repository<>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_cache_2;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        );
+        CachingRepositoryDecorator<Key> cache = new CachingRepositoryDecorator<>(
+                repository,
+                10,
+                Duration.ofHours(1),
+                Duration.ofHours(1)
+        );
+
+        cache.store(1, EnumMapBuilder.ofClass(Key.class).putSingle(Key.FIRST_NAME, "John").build());
+        Assertions.assertEquals(1, cache.findById(1).size());
+
+        // Empty data class is remembered, so data written bypassing decorator is not visible
+        repository.store(1, EnumMapBuilder.ofClass(Key.class).putSingle(Key.PRICING_PLAN, 5L).build());
+        Assertions.assertFalse(cache.findById(1).containsKey(Key.PRICING_PLAN));
+        Assertions.assertTrue(cache.findById(1, Collections.singleton(Key.PRICING_PLAN)).isEmpty());
+
+        // Entity without any data
+        Assertions.assertTrue(cache.findById(2).isEmpty());
+        Assertions.assertEquals(2, cache.size());
+
+        // Store invalidates negative entries too
+        cache.store(1, EnumMapBuilder.ofClass(Key.class).putSingle(Key.LAST_NAME, "Smith").build());
+        Map<Key, List<Object>> read = cache.findById(1);
+        Assertions.assertEquals(3, read.size());
+        Assertions.assertEquals(5L, read.get(Key.PRICING_PLAN).get(0));
+    }
+}
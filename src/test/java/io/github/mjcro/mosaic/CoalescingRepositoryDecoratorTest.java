@@ -0,0 +1,225 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.handlers.sql.mappers.BigDecimalMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.InstantSecondsMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlPersistentWithCreationTimeSeconds;
+import io.github.mjcro.mosaic.util.EnumMapBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+
+public class CoalescingRepositoryDecoratorTest extends BaseRepositoryTest {
+    @Test
+    public void testCoalescing() throws Exception {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_coalesce_1;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Repository<Key> repository = new Repository<Key>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_coalesce_1;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        ) {
+            @Override
+            protected Map<Long, Map<Key, List<Object>>> find(
+                    Collection<Long> identifiers,
+                    Map<Class<?>, List<Key>> groupedByClass
+            ) throws SQLException {
+                reads.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+                return super.find(identifiers, groupedByClass);
+            }
+        };
+        CoalescingRepositoryDecorator<Key> coalescing = new CoalescingRepositoryDecorator<>(repository);
+        List<Key> keys = Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN);
+        repository.store(1, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .build());
+
+        List<Map<Key, List<Object>>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    Map<Key, List<Object>> result = coalescing.findById(1, keys);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Waiting until leader is reading and all followers are waiting for it
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            int waiting = 0;
+            for (Thread thread : threads) {
+                if (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING) {
+                    waiting++;
+                }
+            }
+            if (waiting == threads.size()) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, coalescing.inFlight());
+
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(1, reads.get());
+        Assertions.assertEquals(8, results.size());
+        for (Map<Key, List<Object>> result : results) {
+            Assertions.assertEquals("John", result.get(Key.FIRST_NAME).get(0));
+            Assertions.assertEquals(5L, result.get(Key.PRICING_PLAN).get(0));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> result.remove(Key.FIRST_NAME));
+        }
+        Assertions.assertEquals(0, coalescing.inFlight());
+
+        // Multi-identifier read after write
+        coalescing.store(2, EnumMapBuilder.ofClass(Key.class).putSingle(Key.FIRST_NAME, "Jane").build());
+        Map<Long, Map<Key, List<Object>>> all = coalescing.findById(Arrays.asList(1L, 2L, 3L), keys);
+        Assertions.assertEquals(2, all.size());
+        Assertions.assertEquals("Jane", all.get(2L).get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testParallelRepositoryLeaderError() throws Exception {
+        // Initializing executor
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_coalesce_2;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        AtomicBoolean failing = new AtomicBoolean(true);
+        CountDownLatch release = new CountDownLatch(1);
+        ParallelRepository<Key> repository = new ParallelRepository<Key>(
+                executorService,
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_coalesce_2;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        ) {
+            @Override
+            protected Map<Long, Map<Key, List<Object>>> find(
+                    Collection<Long> identifiers,
+                    Map<Class<?>, List<Key>> groupedByClass
+            ) throws SQLException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+                if (failing.get()) {
+                    throw new Error("Simulated failure");
+                }
+                return super.find(identifiers, groupedByClass);
+            }
+        };
+        CoalescingRepositoryDecorator<Key> coalescing = new CoalescingRepositoryDecorator<>(repository);
+        List<Key> keys = Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN);
+        repository.store(1, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .build());
+
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            boolean multi = i % 2 == 0;
+            Thread thread = new Thread(() -> {
+                try {
+                    if (multi) {
+                        coalescing.findById(Arrays.asList(1L, 2L), keys);
+                    } else {
+                        coalescing.findById(1, keys);
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Waiting until leaders are reading and followers are waiting for them
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            int waiting = 0;
+            for (Thread thread : threads) {
+                if (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING) {
+                    waiting++;
+                }
+            }
+            if (waiting == threads.size()) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        // Leader error is delivered to every caller, nobody hangs
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+            Assertions.assertFalse(thread.isAlive());
+        }
+        Assertions.assertEquals(4, errors.size());
+        for (Throwable error : errors) {
+            Assertions.assertEquals(Error.class, error.getClass());
+            Assertions.assertEquals("Simulated failure", error.getMessage());
+        }
+        Assertions.assertEquals(0, coalescing.inFlight());
+
+        // Repository recovers
+        failing.set(false);
+        Assertions.assertEquals("John", coalescing.findById(1, keys).get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(1, coalescing.findById(Arrays.asList(1L, 2L), keys).size());
+
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
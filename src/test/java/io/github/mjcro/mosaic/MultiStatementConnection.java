@@ -0,0 +1,136 @@
+package io.github.mjcro.mosaic;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Emulates multi-statement support (like MySQL Connector/J {@code allowMultiQueries=true})
+ * on top of H2, which returns only first result set of multi-statement query.
+ * Statements are split by delimiter and executed one by one, their results are
+ * exposed through {@link PreparedStatement#getMoreResults()} as if single query was sent.
+ */
+final class MultiStatementConnection {
+    private static final String DELIMITER = ";\n";
+
+    private MultiStatementConnection() {
+    }
+
+    /**
+     * Wraps given connection.
+     *
+     * @param connection Connection to wrap.
+     * @param roundTrips Counter of executed multi-statement queries.
+     * @return Connection supporting multi-statement queries.
+     */
+    static Connection wrap(Connection connection, AtomicInteger roundTrips) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            if (method.getName().equals("getMetaData")) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return proxy(DatabaseMetaData.class, (p, m, a) -> m.getName().equals("supportsMultipleResultSets")
+                        ? Boolean.TRUE
+                        : invoke(metaData, m, a));
+            }
+            if (method.getName().equals("prepareStatement")
+                    && args.length == 1
+                    && ((String) args[0]).contains(DELIMITER)) {
+                List<PreparedStatement> statements = new ArrayList<>();
+                for (String sql : ((String) args[0]).split(DELIMITER)) {
+                    statements.add(connection.prepareStatement(sql));
+                }
+                return proxy(PreparedStatement.class, new MultiStatement(statements, roundTrips));
+            }
+            return invoke(connection, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> clazz, InvocationHandler handler) {
+        return clazz.cast(Proxy.newProxyInstance(
+                MultiStatementConnection.class.getClassLoader(),
+                new Class<?>[]{clazz},
+                handler
+        ));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Statement, executing its parts one by one.
+     */
+    private static final class MultiStatement implements InvocationHandler {
+        private final List<PreparedStatement> statements;
+        private final AtomicInteger roundTrips;
+        private final int[] offsets;
+        private final List<Object> results = new ArrayList<>();
+        private int position;
+
+        private MultiStatement(List<PreparedStatement> statements, AtomicInteger roundTrips) throws SQLException {
+            this.statements = statements;
+            this.roundTrips = roundTrips;
+            this.offsets = new int[statements.size()];
+            int offset = 0;
+            for (int i = 0; i < statements.size(); i++) {
+                offsets[i] = offset;
+                offset += statements.get(i).getParameterMetaData().getParameterCount();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                // Routing placeholder to statement it belongs to
+                int index = (Integer) args[0];
+                int i = statements.size() - 1;
+                while (offsets[i] >= index) {
+                    i--;
+                }
+                Object[] local = args.clone();
+                local[0] = index - offsets[i];
+                return MultiStatementConnection.invoke(statements.get(i), method, local);
+            }
+            switch (name) {
+                case "execute":
+                    roundTrips.incrementAndGet();
+                    for (PreparedStatement statement : statements) {
+                        results.add(statement.execute() ? statement.getResultSet() : statement.getUpdateCount());
+                    }
+                    position = 0;
+                    return results.get(0) instanceof ResultSet;
+                case "getResultSet":
+                    return position < results.size() && results.get(position) instanceof ResultSet
+                            ? results.get(position)
+                            : null;
+                case "getUpdateCount":
+                    return position < results.size() && results.get(position) instanceof Integer
+                            ? results.get(position)
+                            : -1;
+                case "getMoreResults":
+                    position++;
+                    return position < results.size() && results.get(position) instanceof ResultSet;
+                case "close":
+                    for (PreparedStatement statement : statements) {
+                        statement.close();
+                    }
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        }
+    }
+}
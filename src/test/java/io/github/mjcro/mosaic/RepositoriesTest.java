@@ -1,26 +1,36 @@
 package io.github.mjcro.mosaic;
 
+import io.github.mjcro.mosaic.handlers.sql.Chunking;
 import io.github.mjcro.mosaic.handlers.sql.mappers.BigDecimalMapper;
 import io.github.mjcro.mosaic.handlers.sql.mappers.InstantSecondsMapper;
 import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
 import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
 import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
 import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlPersistentWithCreationTimeSeconds;
+import io.github.mjcro.mosaic.util.Column;
 import io.github.mjcro.mosaic.util.EnumMapBuilder;
+import io.github.mjcro.mosaic.util.LongColumn;
+import io.github.mjcro.mosaic.util.LongObjectMap;
+import io.github.mjcro.mosaic.util.ObjectColumn;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 
@@ -43,6 +53,16 @@ public class RepositoriesTest extends BaseRepositoryTest {
         );
 
         doTest(repository);
+
+        // Response of find is mutable
+        repository.store(101, Collections.singletonMap(Key.FIRST_NAME, Collections.singletonList("John")));
+        repository.store(102, Collections.singletonMap(Key.FIRST_NAME, Collections.singletonList("Jane")));
+        Map<Long, Map<Key, List<Object>>> found = repository.findById(Arrays.asList(101L, 102L), Collections.singletonList(Key.FIRST_NAME));
+        Assertions.assertEquals(2, found.size());
+        found.entrySet().iterator().next().setValue(Collections.emptyMap());
+        Assertions.assertNotNull(found.remove(101L));
+        found.clear();
+        Assertions.assertTrue(found.isEmpty());
     }
 
     @Test
@@ -68,10 +88,314 @@ public class RepositoriesTest extends BaseRepositoryTest {
 
         doTest(repository);
 
+        // Database errors are propagated as is
+        ParallelRepository<Key> broken = new ParallelRepository<>(
+                executorService,
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic2_empty;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        );
+        Assertions.assertThrows(
+                SQLException.class,
+                () -> broken.findById(1, Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN))
+        );
+
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testParallelRepositorySaturatedExecutor() throws Exception {
+        // Single thread executor, busy with calling task itself
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic2_saturated;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        ParallelRepository<Key> repository = new ParallelRepository<>(
+                executorService,
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic2_saturated;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest",
+                1,
+                4
+        );
+        Map<Key, List<Object>> values = EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 3L)
+                .build();
+        repository.store(1, values);
+
+        // Lanes queued behind calling task are not waited for
+        Map<Long, Map<Key, List<Object>>> read = executorService.submit(
+                () -> repository.findById(Arrays.asList(1L, 2L, 3L))
+        ).get(5, TimeUnit.SECONDS);
+        assertResultEquals(read.get(1L), values);
+
+        // Rejected lanes are run by calling thread
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+        read = repository.findById(Arrays.asList(1L, 2L, 3L));
+        assertResultEquals(read.get(1L), values);
+        repository.deleteAll(Arrays.asList(1L, 2L), Arrays.asList(Key.values()));
+        Assertions.assertTrue(repository.findById(Arrays.asList(1L, 2L, 3L)).isEmpty());
+    }
+
+    @Test
+    public void testShardedParallelRepository() throws SQLException, InterruptedException {
+        // Initializing executor
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic2_sharded;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        // Initializing data provider, reading single identifier per connection
+        ParallelRepository<Key> repository = new ParallelRepository<>(
+                executorService,
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic2_sharded;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest",
+                1,
+                3
+        );
+
+        doTest(repository);
+
         executorService.shutdown();
         executorService.awaitTermination(1, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testMultiStatementReads() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_read;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        TypeHandlerResolver resolver = new TypeHandlerResolverMap()
+                .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper());
+
+        // H2 returns only first result set, so multi-statement mode is rejected up front
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Repository<>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_read;DB_CLOSE_DELAY=-1"),
+                resolver,
+                Key.class,
+                "unitTest",
+                true
+        ));
+
+        // Initializing data provider over driver emulating multiple queries support
+        AtomicInteger roundTrips = new AtomicInteger();
+        Repository<Key> repository = new Repository<>(
+                () -> MultiStatementConnection.wrap(
+                        DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_read;DB_CLOSE_DELAY=-1"),
+                        roundTrips
+                ),
+                resolver,
+                Key.class,
+                "unitTest",
+                true
+        );
+        Repository<Key> plain = new Repository<>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_read;DB_CLOSE_DELAY=-1"),
+                resolver,
+                Key.class,
+                "unitTest"
+        );
+
+        Map<Long, Map<Key, List<Object>>> batch = new HashMap<>();
+        batch.put(1L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .putSingle(Key.CREATED_AT, Instant.parse("2021-07-14T06:07:08Z"))
+                .putSingle(Key.DISCOUNT_PERCENT, BigDecimal.valueOf(0.5))
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("USD"), BigDecimal.TEN))
+                .build());
+        batch.put(2L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jane")
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("EUR"), BigDecimal.ONE))
+                .build());
+        plain.storeAll(batch);
+
+        // Single entity, all type tables in one round trip
+        assertResultEquals(repository.findById(1), batch.get(1L));
+        Assertions.assertEquals(1, roundTrips.get());
+
+        // Multiple entities
+        Map<Long, Map<Key, List<Object>>> readAll = repository.findById(Arrays.asList(1L, 2L, 3L));
+        Assertions.assertEquals(2, readAll.size());
+        assertResultEquals(readAll.get(1L), batch.get(1L));
+        assertResultEquals(readAll.get(2L), batch.get(2L));
+        Assertions.assertEquals(2, roundTrips.get());
+
+        // Partial read of several tables
+        readAll = repository.findById(Arrays.asList(1L, 2L), Arrays.asList(Key.FIRST_NAME, Key.ACCOUNT_BALANCE));
+        Assertions.assertEquals(2, readAll.size());
+        Assertions.assertEquals(2, readAll.get(1L).size());
+        Assertions.assertEquals("Jane", readAll.get(2L).get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(3, roundTrips.get());
+
+        // Missing entities
+        Assertions.assertTrue(repository.findById(Arrays.asList(3L, 4L)).isEmpty());
+    }
+
+    @Test
+    public void testMultiStatementWrites() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_write;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        // Initializing data provider over driver emulating multiple queries support
+        AtomicInteger roundTrips = new AtomicInteger();
+        Repository<Key> repository = new Repository<>(
+                () -> MultiStatementConnection.wrap(
+                        DriverManager.getConnection("jdbc:h2:mem:mosaic_multi_write;DB_CLOSE_DELAY=-1"),
+                        roundTrips
+                ),
+                new TypeHandlerResolverMap()
+                        .with(String.class, MySqlMinimalLayout.DEFAULT, new StringMapper())
+                        .with(Long.class, MySqlMinimalLayout.DEFAULT, new LongMapper())
+                        .with(Instant.class, MySqlMinimalLayout.DEFAULT, new InstantSecondsMapper())
+                        .with(BigDecimal.class, MySqlMinimalLayout.DEFAULT, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, MySqlPersistentWithCreationTimeSeconds.DEFAULT, new CustomAmountMapper()),
+                Key.class,
+                "unitTest",
+                true
+        );
+
+        // Entity touching all type tables is stored using single round trip
+        Map<Key, List<Object>> entity = EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "John")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .putSingle(Key.CREATED_AT, Instant.parse("2021-07-14T06:07:08Z"))
+                .putSingle(Key.DISCOUNT_PERCENT, BigDecimal.valueOf(0.5))
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("USD"), BigDecimal.TEN))
+                .build();
+        repository.store(1, entity);
+        Assertions.assertEquals(1, roundTrips.get());
+        assertResultEquals(repository.findById(1), entity);
+        Assertions.assertEquals(2, roundTrips.get());
+
+        // Overwriting replaces previous values in all tables
+        Map<Key, List<Object>> update = EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jim")
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("EUR"), BigDecimal.ONE))
+                .build();
+        repository.store(1, update);
+        entity.putAll(update);
+        assertResultEquals(repository.findById(1), entity);
+
+        // Multiple entities in several tables
+        Map<Long, Map<Key, List<Object>>> batch = new HashMap<>();
+        batch.put(2L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jane")
+                .putSingle(Key.DISCOUNT_PERCENT, BigDecimal.valueOf(1.5))
+                .build());
+        batch.put(3L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.PRICING_PLAN, 7L)
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("USD"), BigDecimal.ONE))
+                .build());
+        int before = roundTrips.get();
+        repository.storeAll(batch);
+        Assertions.assertEquals(before + 1, roundTrips.get());
+        Map<Long, Map<Key, List<Object>>> readAll = repository.findById(Arrays.asList(1L, 2L, 3L));
+        Assertions.assertEquals(3, readAll.size());
+        assertResultEquals(readAll.get(1L), entity);
+        assertResultEquals(readAll.get(2L), batch.get(2L));
+        assertResultEquals(readAll.get(3L), batch.get(3L));
+
+        // Partial and full deletes
+        repository.delete(1, Arrays.asList(Key.FIRST_NAME, Key.ACCOUNT_BALANCE));
+        entity.remove(Key.FIRST_NAME);
+        entity.remove(Key.ACCOUNT_BALANCE);
+        assertResultEquals(repository.findById(1), entity);
+        repository.delete(1);
+        Assertions.assertTrue(repository.findById(1).isEmpty());
+        repository.deleteAll(Arrays.asList(2L, 3L));
+        Assertions.assertTrue(repository.findById(Arrays.asList(2L, 3L)).isEmpty());
+
+        // Common scenario
+        doTest(repository);
+    }
+
+    @Test
+    public void testChunkedRepository() throws SQLException {
+        // Creating schema
+        DriverManager.getConnection("jdbc:h2:mem:mosaic_chunked;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        // Initializing data provider, sending at most two identifiers per statement
+        Chunking chunking = Chunking.of(2).withBucketing();
+        MySqlMinimalLayout minimal = new MySqlMinimalLayout(true, "linkId", "typeId", chunking);
+        MySqlPersistentWithCreationTimeSeconds persistent = new MySqlPersistentWithCreationTimeSeconds(
+                true,
+                "linkId",
+                "typeId",
+                "active",
+                "time",
+                chunking
+        );
+        Repository<Key> repository = new Repository<>(
+                () -> DriverManager.getConnection("jdbc:h2:mem:mosaic_chunked;DB_CLOSE_DELAY=-1"),
+                new TypeHandlerResolverMap()
+                        .with(String.class, minimal, new StringMapper())
+                        .with(Long.class, minimal, new LongMapper())
+                        .with(Instant.class, minimal, new InstantSecondsMapper())
+                        .with(BigDecimal.class, minimal, new BigDecimalMapper().withCommonName("Discount"))
+                        .with(Amount.class, persistent, new CustomAmountMapper()),
+                Key.class,
+                "unitTest"
+        );
+
+        // Storing more entities than single chunk holds
+        Map<Long, Map<Key, List<Object>>> batch = new HashMap<>();
+        for (long id = 1; id <= 5; id++) {
+            batch.put(id, EnumMapBuilder.ofClass(Key.class)
+                    .putSingle(Key.FIRST_NAME, "Name " + id)
+                    .putSingle(Key.PRICING_PLAN, id * 10)
+                    .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("USD"), BigDecimal.valueOf(id)))
+                    .build());
+        }
+        repository.storeAll(batch);
+
+        // Reading across chunks
+        Map<Long, Map<Key, List<Object>>> readAll = repository.findById(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L));
+        Assertions.assertEquals(5, readAll.size());
+        for (long id = 1; id <= 5; id++) {
+            assertResultEquals(readAll.get(id), batch.get(id));
+        }
+        LongObjectMap<Map<Key, List<Object>>> readPrimitive = repository.findById(new long[]{5L, 1L, 2L, 2L, 3L, 4L, 5L});
+        Assertions.assertEquals(5, readPrimitive.size());
+        for (long id = 1; id <= 5; id++) {
+            assertResultEquals(readPrimitive.get(id), batch.get(id));
+        }
+
+        // Partial delete across chunks
+        repository.deleteAll(Arrays.asList(1L, 2L, 3L, 4L, 5L), Arrays.asList(Key.FIRST_NAME, Key.ACCOUNT_BALANCE));
+        readAll = repository.findById(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        Assertions.assertEquals(5, readAll.size());
+        for (long id = 1; id <= 5; id++) {
+            Assertions.assertEquals(Collections.singleton(Key.PRICING_PLAN), readAll.get(id).keySet());
+        }
+
+        // Full delete across chunks
+        repository.deleteAll(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        Assertions.assertTrue(repository.findById(Arrays.asList(1L, 2L, 3L, 4L, 5L)).isEmpty());
+    }
+
     private void doTest(AbstractConnectionProviderRepository<Key> repository) throws SQLException {
         // Reading non-existing entity
         Assertions.assertTrue(repository.findById(8).isEmpty());
@@ -91,6 +415,7 @@ public class RepositoriesTest extends BaseRepositoryTest {
         Map<Key, List<Object>> read = repository.findById(8);
         Assertions.assertFalse(read.isEmpty());
         assertResultEquals(read, entity1);
+        Assertions.assertTrue(read instanceof EnumMap<?, ?>);
 
         // Partial read single key
         read = repository.findById(8, Collections.singleton(Key.LAST_NAME));
@@ -135,5 +460,82 @@ public class RepositoriesTest extends BaseRepositoryTest {
         repository.delete(8);
         read = repository.findById(8);
         Assertions.assertTrue(read.isEmpty());
+
+        // Storing multiple entities
+        Map<Long, Map<Key, List<Object>>> batch = new HashMap<>();
+        batch.put(9L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jane")
+                .putSingle(Key.ACCOUNT_BALANCE, new Amount(Currency.getInstance("EUR"), BigDecimal.ONE))
+                .build());
+        batch.put(10L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Jim")
+                .putSingle(Key.PRICING_PLAN, 5L)
+                .build());
+        repository.storeAll(batch);
+        Map<Long, Map<Key, List<Object>>> readAll = repository.findById(Arrays.asList(9L, 10L));
+        Assertions.assertEquals(2, readAll.size());
+        assertResultEquals(readAll.get(9L), batch.get(9L));
+        assertResultEquals(readAll.get(10L), batch.get(10L));
+
+        // Reading using primitive identifiers
+        LongObjectMap<Map<Key, List<Object>>> readPrimitive = repository.findById(new long[]{9L, 10L, 10L, 11L});
+        Assertions.assertEquals(2, readPrimitive.size());
+        assertResultEquals(readPrimitive.get(9L), batch.get(9L));
+        assertResultEquals(readPrimitive.get(10L), batch.get(10L));
+
+        // Columnar read
+        Map<Key, Column> columns = repository.findColumnar(
+                new long[]{9L, 10L, 11L},
+                Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN, Key.CREATED_AT)
+        );
+        Assertions.assertEquals(2, columns.size());
+        Assertions.assertTrue(columns.get(Key.FIRST_NAME) instanceof ObjectColumn);
+        Assertions.assertEquals(2, columns.get(Key.FIRST_NAME).size());
+        LongColumn plans = (LongColumn) columns.get(Key.PRICING_PLAN);
+        Assertions.assertArrayEquals(new long[]{10L}, plans.getLinkIds());
+        Assertions.assertArrayEquals(new long[]{5L}, plans.getValues());
+
+        // Keys without data are absent
+        Assertions.assertFalse(columns.containsKey(Key.CREATED_AT));
+        Assertions.assertTrue(repository.findColumnar(new long[]{11L}, Arrays.asList(Key.FIRST_NAME, Key.PRICING_PLAN)).isEmpty());
+
+        // Overwriting multiple entities
+        batch.put(9L, EnumMapBuilder.ofClass(Key.class)
+                .putSingle(Key.FIRST_NAME, "Janet")
+                .build());
+        repository.storeAll(batch);
+        readAll = repository.findById(Arrays.asList(9L, 10L));
+        Assertions.assertEquals(2, readAll.size());
+        assertResultEquals(readAll.get(10L), batch.get(10L));
+        Assertions.assertEquals("Janet", readAll.get(9L).get(Key.FIRST_NAME).get(0));
+        Assertions.assertEquals(1, readAll.get(9L).get(Key.FIRST_NAME).size());
+
+        // Streaming read of multiple entities
+        Map<Long, Map<Key, List<Object>>> streamed = new LinkedHashMap<>();
+        repository.forEachById(Arrays.asList(10L, 11L, 9L, 10L), streamed::put);
+        Assertions.assertEquals(Arrays.asList(9L, 10L), new ArrayList<>(streamed.keySet()));
+        assertResultEquals(streamed.get(9L), readAll.get(9L));
+        assertResultEquals(streamed.get(10L), readAll.get(10L));
+
+        // Scanning all entities
+        List<Map<Long, Map<Key, List<Object>>>> batches = new ArrayList<>();
+        repository.scanAll(Arrays.asList(Key.values()), 1, batches::add);
+        Assertions.assertEquals(2, batches.size());
+        Assertions.assertEquals(Collections.singleton(9L), batches.get(0).keySet());
+        Assertions.assertEquals(Collections.singleton(10L), batches.get(1).keySet());
+        assertResultEquals(batches.get(0).get(9L), readAll.get(9L));
+        assertResultEquals(batches.get(1).get(10L), readAll.get(10L));
+
+        // Partial delete of multiple entities
+        repository.deleteAll(Arrays.asList(9L, 10L), Collections.singleton(Key.FIRST_NAME));
+        readAll = repository.findById(Arrays.asList(9L, 10L));
+        Assertions.assertEquals(2, readAll.size());
+        Assertions.assertFalse(readAll.get(9L).containsKey(Key.FIRST_NAME));
+        Assertions.assertFalse(readAll.get(10L).containsKey(Key.FIRST_NAME));
+
+        // Full delete of multiple entities
+        repository.deleteAll(Arrays.asList(9L, 10L));
+        readAll = repository.findById(Arrays.asList(9L, 10L));
+        Assertions.assertTrue(readAll.isEmpty());
     }
 }
@@ -0,0 +1,49 @@
+package io.github.mjcro.mosaic;
+
+import io.github.mjcro.mosaic.exceptions.NoSuitableTypeHandlerFoundException;
+import io.github.mjcro.mosaic.handlers.sql.LayoutAwareTypeHandler;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+public class TypeHandlerResolverMapTest {
+    @Test
+    public void testFreeze() throws SQLException {
+        TypeHandler forString = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new StringMapper());
+        TypeHandler forDate = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new LongMapper());
+        TypeHandler forNumber = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new LongMapper());
+        TypeHandler forComparable = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new StringMapper());
+
+        TypeHandlerResolverMap map = new TypeHandlerResolverMap()
+                .with(String.class, forString)
+                .with(Date.class, forDate)
+                .with(Number.class, forNumber)
+                .with(Comparable.class, forComparable);
+        FrozenTypeHandlerResolver frozen = map.freeze();
+
+        for (TypeHandlerResolver resolver : new TypeHandlerResolver[]{map, frozen}) {
+            // Exact match
+            Assertions.assertSame(forString, resolver.resolve(String.class));
+            // Superclass
+            Assertions.assertSame(forDate, resolver.resolve(Timestamp.class));
+            Assertions.assertSame(forNumber, resolver.resolve(Long.class));
+            // Interface
+            Assertions.assertSame(forComparable, resolver.resolve(Character.class));
+            // Missing
+            Assertions.assertThrows(NoSuitableTypeHandlerFoundException.class, () -> resolver.resolve(Object.class));
+            Assertions.assertThrows(NoSuitableTypeHandlerFoundException.class, () -> resolver.resolve(null));
+        }
+
+        // Frozen resolver is not affected by later modifications
+        map.with(Object.class, forString);
+        Assertions.assertSame(forString, map.resolve(Object.class));
+        Assertions.assertThrows(NoSuitableTypeHandlerFoundException.class, () -> frozen.resolve(Object.class));
+        Assertions.assertSame(forNumber, frozen.resolve(Long.class));
+    }
+}
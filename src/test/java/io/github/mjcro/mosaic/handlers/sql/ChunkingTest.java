@@ -0,0 +1,71 @@
+package io.github.mjcro.mosaic.handlers.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+
+public class ChunkingTest {
+    @Test
+    public void testSplit() {
+        Chunking chunking = Chunking.of(2);
+
+        List<List<Long>> chunks = chunking.split(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        Assertions.assertEquals(3, chunks.size());
+        Assertions.assertEquals(Arrays.asList(1L, 2L), chunks.get(0));
+        Assertions.assertEquals(Arrays.asList(3L, 4L), chunks.get(1));
+        Assertions.assertEquals(Collections.singletonList(5L), chunks.get(2));
+
+        chunks = chunking.split(Arrays.asList(1L, 2L));
+        Assertions.assertEquals(1, chunks.size());
+        Assertions.assertEquals(Arrays.asList(1L, 2L), chunks.get(0));
+
+        Assertions.assertTrue(chunking.split(Collections.<Long>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testSplitDuplicates() {
+        Chunking chunking = Chunking.of(2);
+
+        // Duplicate of 2 would otherwise cross chunk boundary
+        List<List<Long>> chunks = chunking.split(Arrays.asList(1L, 2L, 2L, 3L, 1L));
+        Assertions.assertEquals(2, chunks.size());
+        Assertions.assertEquals(Arrays.asList(1L, 2L), chunks.get(0));
+        Assertions.assertEquals(Collections.singletonList(3L), chunks.get(1));
+
+        chunks = chunking.split(Arrays.asList(5L, 5L, 5L));
+        Assertions.assertEquals(1, chunks.size());
+        Assertions.assertEquals(Collections.singletonList(5L), chunks.get(0));
+
+        List<long[]> primitive = chunking.split(new long[]{3, 1, 2, 2, 1});
+        Assertions.assertEquals(2, primitive.size());
+        Assertions.assertArrayEquals(new long[]{1, 2}, primitive.get(0));
+        Assertions.assertArrayEquals(new long[]{3}, primitive.get(1));
+    }
+
+    @Test
+    public void testPlaceholders() {
+        Chunking chunking = Chunking.of(100);
+        Assertions.assertFalse(chunking.isBucketing());
+        Assertions.assertEquals(7, chunking.placeholders(7));
+
+        chunking = chunking.withBucketing();
+        Assertions.assertTrue(chunking.isBucketing());
+        Assertions.assertEquals(0, chunking.placeholders(0));
+        Assertions.assertEquals(1, chunking.placeholders(1));
+        Assertions.assertEquals(2, chunking.placeholders(2));
+        Assertions.assertEquals(4, chunking.placeholders(3));
+        Assertions.assertEquals(8, chunking.placeholders(5));
+        Assertions.assertEquals(64, chunking.placeholders(64));
+        Assertions.assertEquals(100, chunking.placeholders(65));
+        Assertions.assertEquals(150, chunking.placeholders(150));
+    }
+
+    @Test
+    public void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Chunking.of(0));
+    }
+}
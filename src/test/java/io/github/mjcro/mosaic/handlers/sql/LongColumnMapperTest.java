@@ -0,0 +1,101 @@
+package io.github.mjcro.mosaic.handlers.sql;
+
+import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.TypeHandler;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import io.github.mjcro.mosaic.handlers.sql.mysql.MySqlMinimalLayout;
+import io.github.mjcro.mosaic.util.LongColumn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LongColumnMapperTest {
+    @Test
+    public void testOf() {
+        LongMapper mapper = new LongMapper();
+        Assertions.assertSame(mapper, LongColumnMapper.of(mapper));
+        Assertions.assertSame(mapper, LongColumnMapper.of(mapper.withCommonName("Instant")));
+        Assertions.assertNull(LongColumnMapper.of(new StringMapper()));
+    }
+
+    @Test
+    public void testFindLongColumns() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_long_columns_1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        TypeHandler handler = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new LongMapper());
+
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Collections.singletonList(1L));
+        values.put(Key.BAR, Arrays.asList(5L, 6L));
+        handler.store(connection, "unitTest", 10, values);
+        handler.store(connection, "unitTest", 11, Collections.singletonMap(Key.FOO, Collections.singletonList(2L)));
+
+        Map<Key, LongColumn> columns = handler.findLongColumns(
+                connection,
+                "unitTest",
+                new long[]{10, 11, 12},
+                Arrays.asList(Key.FOO, Key.BAR)
+        );
+        Assertions.assertEquals(2, columns.size());
+
+        LongColumn foo = columns.get(Key.FOO);
+        Assertions.assertEquals(2, foo.size());
+        Map<Long, Long> fooValues = new TreeMap<>();
+        for (int i = 0; i < foo.size(); i++) {
+            fooValues.put(foo.getLinkId(i), foo.getValue(i));
+        }
+        Assertions.assertEquals(Long.valueOf(1), fooValues.get(10L));
+        Assertions.assertEquals(Long.valueOf(2), fooValues.get(11L));
+
+        LongColumn bar = columns.get(Key.BAR);
+        Assertions.assertArrayEquals(new long[]{10, 10}, bar.getLinkIds());
+        long[] barValues = bar.getValues();
+        Arrays.sort(barValues);
+        Assertions.assertArrayEquals(new long[]{5, 6}, barValues);
+
+        // Mappers without primitive support are rejected
+        TypeHandler strings = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new StringMapper());
+        strings.store(connection, "unitTest", 10, Collections.singletonMap(Key.FOO, Collections.singletonList("a")));
+        Assertions.assertThrows(SQLException.class, () -> strings.findLongColumns(
+                connection,
+                "unitTest",
+                new long[]{10},
+                Collections.singletonList(Key.FOO)
+        ));
+
+        connection.close();
+    }
+
+    public enum Key implements KeySpec {
+        FOO(1, Long.class),
+        BAR(2, Long.class);
+
+        private final int typeId;
+        private final Class<?> dataClass;
+
+        Key(final int typeId, final Class<?> clazz) {
+            this.typeId = typeId;
+            this.dataClass = clazz;
+        }
+
+        @Override
+        public int getTypeId() {
+            return typeId;
+        }
+
+        @Override
+        public Class<?> getDataClass() {
+            return dataClass;
+        }
+    }
+}
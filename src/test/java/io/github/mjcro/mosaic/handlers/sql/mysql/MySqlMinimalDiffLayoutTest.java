@@ -0,0 +1,101 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MySqlMinimalDiffLayoutTest {
+    @Test
+    public void testStoreChangedOnly() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_diff_store_1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+        MySqlMinimalDiffLayout layout = MySqlMinimalDiffLayout.DEFAULT;
+        LongMapper mapper = new LongMapper();
+
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Collections.singletonList(1L));
+        values.put(Key.BAR, Arrays.asList(5L, 6L));
+        layout.store(mapper, connection, "unitTestLong", 10, values);
+        Map<Long, Long> before = readIds(connection);
+        Assertions.assertEquals(3, before.size());
+
+        // Changing one value of multi-valued key
+        values.put(Key.BAR, Arrays.asList(6L, 7L));
+        layout.store(mapper, connection, "unitTestLong", 10, values);
+        Map<Long, Long> after = readIds(connection);
+        Assertions.assertEquals(3, after.size());
+        Assertions.assertEquals(before.get(1L), after.get(1L));
+        Assertions.assertEquals(before.get(6L), after.get(6L));
+        Assertions.assertFalse(after.containsKey(5L));
+        Assertions.assertTrue(after.containsKey(7L));
+
+        // Data read as usual
+        Map<Key, List<Object>> read = layout.findByLinkId(
+                mapper,
+                connection,
+                "unitTestLong",
+                Collections.singleton(10L),
+                Arrays.asList(Key.FOO, Key.BAR)
+        ).get(10L);
+        Assertions.assertEquals(Collections.singletonList(1L), read.get(Key.FOO));
+        Assertions.assertEquals(2, read.get(Key.BAR).size());
+
+        // Storing same values again changes nothing
+        layout.store(mapper, connection, "unitTestLong", 10, values);
+        Assertions.assertEquals(after, readIds(connection));
+
+        // Empty list deletes all values of key
+        values.put(Key.BAR, Collections.emptyList());
+        layout.store(mapper, connection, "unitTestLong", 10, values);
+        Assertions.assertEquals(Collections.singletonMap(1L, before.get(1L)), readIds(connection));
+
+        connection.close();
+    }
+
+    private static Map<Long, Long> readIds(Connection connection) throws SQLException {
+        TreeMap<Long, Long> ids = new TreeMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT `id`, `value` FROM `unitTestLong` WHERE `linkId` = 10")) {
+            while (rs.next()) {
+                ids.put(rs.getLong(2), rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    public enum Key implements KeySpec {
+        FOO(1, Long.class),
+        BAR(2, Long.class);
+
+        private final int typeId;
+        private final Class<?> dataClass;
+
+        Key(final int typeId, final Class<?> clazz) {
+            this.typeId = typeId;
+            this.dataClass = clazz;
+        }
+
+        @Override
+        public int getTypeId() {
+            return typeId;
+        }
+
+        @Override
+        public Class<?> getDataClass() {
+            return dataClass;
+        }
+    }
+}
@@ -2,14 +2,21 @@ package io.github.mjcro.mosaic.handlers.sql.mysql;
 
 import io.github.mjcro.mosaic.KeySpec;
 import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 public class MySqlPersistentWithCreationTimeSecondsTest {
     @Test
@@ -26,6 +33,82 @@ public class MySqlPersistentWithCreationTimeSecondsTest {
         connection.close();
     }
 
+    @Test
+    public void testStoreChangedValuesOnly() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_pers_store_2;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+
+        MySqlPersistentWithCreationTimeSeconds layout = new MySqlPersistentWithCreationTimeSeconds(false, "linkId", "typeId", "active", "time");
+        StringMapper mapper = new StringMapper();
+
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Arrays.asList("a", "b"));
+        values.put(Key.BAR, Collections.singletonList("c"));
+        layout.store(mapper, connection, "unitTestStringPersistent", 10, values);
+        Assertions.assertEquals(3, countRows(connection, 1));
+
+        // Storing same values again writes nothing
+        layout.store(mapper, connection, "unitTestStringPersistent", 10, values);
+        Assertions.assertEquals(3, countRows(connection, 1));
+        Assertions.assertEquals(0, countRows(connection, 0));
+
+        // Replacing single value of multi-valued key
+        values.put(Key.FOO, Arrays.asList("b", "d"));
+        layout.store(mapper, connection, "unitTestStringPersistent", 10, values);
+        Assertions.assertEquals(3, countRows(connection, 1));
+        Assertions.assertEquals(1, countRows(connection, 0));
+
+        Map<Key, List<Object>> read = layout.findByLinkId(
+                mapper,
+                connection,
+                "unitTestStringPersistent",
+                Collections.singleton(10L),
+                Arrays.asList(Key.FOO, Key.BAR)
+        ).get(10L);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("b", "d")), new HashSet<>(read.get(Key.FOO)));
+        Assertions.assertEquals(Collections.singletonList("c"), read.get(Key.BAR));
+        connection.close();
+    }
+
+    @Test
+    public void testStoreNullValues() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_pers_store_3;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+
+        MySqlPersistentWithCreationTimeSeconds layout = new MySqlPersistentWithCreationTimeSeconds(false, "linkId", "typeId", "active", "time");
+        StringMapper mapper = new StringMapper();
+
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Arrays.asList("a", "b"));
+        values.put(Key.BAR, Collections.singletonList("c"));
+        layout.store(mapper, connection, "unitTestStringPersistent", 10, values);
+        Assertions.assertEquals(3, countRows(connection, 1));
+
+        // Null clears key, deactivating its stored values
+        values.put(Key.FOO, null);
+        values.put(Key.BAR, Collections.singletonList(null));
+        layout.store(mapper, connection, "unitTestStringPersistent", 10, values);
+        Assertions.assertEquals(0, countRows(connection, 1));
+        Assertions.assertEquals(3, countRows(connection, 0));
+
+        Assertions.assertFalse(layout.findByLinkId(
+                mapper,
+                connection,
+                "unitTestStringPersistent",
+                Collections.singleton(10L),
+                Arrays.asList(Key.FOO, Key.BAR)
+        ).containsKey(10L));
+        connection.close();
+    }
+
+    private static int countRows(Connection connection, int active) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM `unitTestStringPersistent` WHERE `linkId` = 10 AND `active` = " + active)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
     public enum Key implements KeySpec {
         FOO(1, String.class),
         BAR(2, String.class);
@@ -0,0 +1,222 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.KeySpec;
+import io.github.mjcro.mosaic.handlers.sql.mappers.StringMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSecondsTest {
+    private static final String TABLE = "unitTestStringPersistentModified";
+
+    @Test
+    public void testStoreUnchangedValues() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_non_locking_1;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+
+        MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds layout = MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds.DEFAULT;
+        StringMapper mapper = new StringMapper();
+
+        HashMap<Long, Map<Key, List<Object>>> values = new HashMap<>();
+        values.put(10L, new HashMap<>());
+        values.get(10L).put(Key.FOO, Arrays.asList("a", "b"));
+        values.get(10L).put(Key.BAR, Collections.singletonList("c"));
+        values.put(11L, new HashMap<>());
+        values.get(11L).put(Key.BAR, Collections.singletonList("x"));
+        layout.storeAll(mapper, connection, TABLE, values);
+        resetModificationTime(connection);
+        Map<Integer, String> rows = readRows(connection);
+        Assertions.assertEquals(4, rows.size());
+
+        // Storing same values, in different order, costs single read and keeps rows and modification time intact
+        AtomicInteger statements = new AtomicInteger();
+        Connection counting = countStatements(connection, statements);
+        values.get(10L).put(Key.FOO, Arrays.asList("b", "a"));
+        layout.storeAll(mapper, counting, TABLE, values);
+        Assertions.assertEquals(1, statements.get());
+        layout.store(mapper, counting, TABLE, 11L, values.get(11L));
+        Assertions.assertEquals(2, statements.get());
+        Assertions.assertEquals(rows, readRows(connection));
+
+        // Same inside transaction
+        connection.setAutoCommit(false);
+        layout.storeAll(mapper, connection, TABLE, values);
+        connection.commit();
+        connection.setAutoCommit(true);
+        Assertions.assertEquals(rows, readRows(connection));
+        connection.close();
+    }
+
+    @Test
+    public void testStoreChangedValues() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_non_locking_2;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+
+        MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds layout = MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds.DEFAULT;
+        StringMapper mapper = new StringMapper();
+
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Arrays.asList("a", "b"));
+        values.put(Key.BAR, Collections.singletonList("c"));
+        layout.store(mapper, connection, TABLE, 10, values);
+        resetModificationTime(connection);
+        Map<Integer, String> rows = readRows(connection);
+
+        // Replacing single value of multi-valued key and single-valued key
+        values.put(Key.FOO, Arrays.asList("b", "d"));
+        values.put(Key.BAR, Collections.singletonList("e"));
+        layout.store(mapper, connection, TABLE, 10, values);
+
+        Map<Integer, String> changed = readRows(connection);
+        Assertions.assertEquals(5, changed.size());
+        for (Map.Entry<Integer, String> row : rows.entrySet()) {
+            if (row.getValue().startsWith("b,")) {
+                // Unchanged value keeps its row and modification time
+                Assertions.assertEquals(row.getValue(), changed.get(row.getKey()));
+            } else {
+                Assertions.assertTrue(changed.get(row.getKey()).endsWith(",0,true"), changed.get(row.getKey()));
+            }
+        }
+        assertActive(layout, mapper, connection, Arrays.asList("b", "d"), Collections.singletonList("e"));
+
+        // Empty list deactivates all values of key
+        values.put(Key.FOO, new ArrayList<>());
+        layout.store(mapper, connection, TABLE, 10, values);
+        assertActive(layout, mapper, connection, null, Collections.singletonList("e"));
+        connection.close();
+    }
+
+    @Test
+    public void testStoreOverDuplicateRows() throws SQLException {
+        // Creating schema
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:mosaic_non_locking_3;INIT=RUNSCRIPT FROM 'src/test/resources/repositoryTest.sql'");
+
+        MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds layout = MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds.DEFAULT;
+        StringMapper mapper = new StringMapper();
+
+        // Duplicate active rows, as left by concurrent stores
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("INSERT INTO `" + TABLE + "` (`linkId`, `typeId`, `active`, `created`, `modified`, `value`) VALUES "
+                    + "(10, 1, 1, 0, 0, 'a'), (10, 1, 1, 0, 0, 'a'), (10, 2, 1, 0, 0, 'c'), (10, 2, 1, 0, 0, 'c')");
+        }
+
+        // Same amount of rows as new values, but not same values
+        HashMap<Key, List<Object>> values = new HashMap<>();
+        values.put(Key.FOO, Arrays.asList("a", "b"));
+        values.put(Key.BAR, Collections.singletonList("c"));
+        layout.store(mapper, connection, TABLE, 10, values);
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), readActiveValues(connection));
+        assertActive(layout, mapper, connection, Arrays.asList("a", "b"), Collections.singletonList("c"));
+
+        // Further stores change nothing
+        Map<Integer, String> rows = readRows(connection);
+        layout.store(mapper, connection, TABLE, 10, values);
+        Assertions.assertEquals(rows, readRows(connection));
+        connection.close();
+    }
+
+    private static List<String> readActiveValues(Connection connection) throws SQLException {
+        ArrayList<String> values = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT `value` FROM `" + TABLE + "` WHERE `active` = 1 ORDER BY `value`")) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static void assertActive(
+            MySqlPersistentWithNonLockingChangesAndCreationModificationTimeSeconds layout,
+            StringMapper mapper,
+            Connection connection,
+            List<Object> foo,
+            List<Object> bar
+    ) throws SQLException {
+        Map<Key, List<Object>> read = layout.findByLinkId(
+                mapper,
+                connection,
+                TABLE,
+                Collections.singleton(10L),
+                Arrays.asList(Key.FOO, Key.BAR)
+        ).get(10L);
+        Assertions.assertEquals(foo == null ? null : new HashSet<>(foo), read.get(Key.FOO) == null ? null : new HashSet<>(read.get(Key.FOO)));
+        Assertions.assertEquals(bar, read.get(Key.BAR));
+    }
+
+    private static Connection countStatements(Connection connection, AtomicInteger statements) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                        statements.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
+    private static void resetModificationTime(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("UPDATE `" + TABLE + "` SET `modified` = 0");
+        }
+    }
+
+    /**
+     * @return Rows indexed by identifier, as "value,active,modified since reset".
+     */
+    private static Map<Integer, String> readRows(Connection connection) throws SQLException {
+        LinkedHashMap<Integer, String> rows = new LinkedHashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT `id`, `value`, `active`, `modified` FROM `" + TABLE + "` ORDER BY `id`")) {
+            while (rs.next()) {
+                rows.put(rs.getInt(1), rs.getString(2) + "," + rs.getInt(3) + "," + (rs.getLong(4) > 0));
+            }
+        }
+        return rows;
+    }
+
+    public enum Key implements KeySpec {
+        FOO(1, String.class),
+        BAR(2, String.class);
+
+        private final int typeId;
+        private final Class<?> dataClass;
+
+        Key(final int typeId, final Class<?> clazz) {
+            this.typeId = typeId;
+            this.dataClass = clazz;
+        }
+
+        @Override
+        public int getTypeId() {
+            return typeId;
+        }
+
+        @Override
+        public Class<?> getDataClass() {
+            return dataClass;
+        }
+    }
+}
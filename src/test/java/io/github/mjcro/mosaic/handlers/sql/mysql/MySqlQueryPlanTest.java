@@ -0,0 +1,68 @@
+package io.github.mjcro.mosaic.handlers.sql.mysql;
+
+import io.github.mjcro.mosaic.handlers.sql.LayoutAwareTypeHandler;
+import io.github.mjcro.mosaic.handlers.sql.mappers.LongMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+public class MySqlQueryPlanTest {
+    @Test
+    public void testAlternatingInjectors() throws SQLException {
+        MySqlQueryPlan plan = new MySqlQueryPlan(MySqlMinimalLayout.DEFAULT, new LongMapper(), "unitTestLong");
+        MySqlBasicLayout.WhereClauseInjector active = sb -> sb.append("`active`=1 AND");
+        MySqlBasicLayout.WhereClauseInjector inactive = sb -> sb.append("`active`=0 AND");
+
+        String all = plan.getSelect(null);
+        String activeOnly = plan.getSelect(active);
+        String inactiveOnly = plan.getSelect(inactive);
+        Assertions.assertEquals("SELECT `linkId`,`typeId`,`value` FROM `unitTestLong` WHERE `linkId` IN (", all);
+        Assertions.assertEquals("SELECT `linkId`,`typeId`,`value` FROM `unitTestLong` WHERE `active`=1 AND `linkId` IN (", activeOnly);
+
+        // Alternating injectors hit cache
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(all, plan.getSelect(null));
+            Assertions.assertSame(activeOnly, plan.getSelect(active));
+            Assertions.assertSame(inactiveOnly, plan.getSelect(inactive));
+        }
+
+        String scan = plan.getScan(active);
+        Assertions.assertSame(scan, plan.getScan(active));
+        Assertions.assertNotEquals(scan, plan.getScan(null));
+        Assertions.assertSame(scan, plan.getScan(active));
+    }
+
+    @Test
+    public void testAlternatingInserts() throws SQLException {
+        MySqlQueryPlan plan = new MySqlQueryPlan(MySqlMinimalLayout.DEFAULT, new LongMapper(), "unitTestLong");
+        MySqlBasicLayout.AdditionalColumn active = new MySqlBasicLayout.AdditionalColumn("active", (stmt, offset) -> stmt.setInt(offset, 1));
+        MySqlBasicLayout.AdditionalColumn created = new MySqlBasicLayout.AdditionalColumn("created", (stmt, offset) -> stmt.setLong(offset, 0));
+
+        MySqlQueryPlan.Insert plain = plan.getInsert();
+        MySqlQueryPlan.Insert extended = plan.getInsert(active, created);
+        Assertions.assertEquals("INSERT INTO `unitTestLong` (`linkId`,`typeId`,`value`) VALUES ", plain.getPrefix());
+        Assertions.assertEquals("INSERT INTO `unitTestLong` (`linkId`,`typeId`,`active`,`created`,`value`) VALUES ", extended.getPrefix());
+        Assertions.assertEquals("(?,?,?,?,?)", extended.getRow());
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(plain, plan.getInsert());
+            Assertions.assertSame(extended, plan.getInsert(active, created));
+        }
+        Assertions.assertNotSame(extended, plan.getInsert(created, active));
+    }
+
+    @Test
+    public void testAlternatingTablePrefixes() {
+        LayoutAwareTypeHandler handler = new LayoutAwareTypeHandler(MySqlMinimalLayout.DEFAULT, new LongMapper());
+
+        String first = handler.getTableName("first");
+        String second = handler.getTableName("second");
+        Assertions.assertEquals("firstLong", first);
+        Assertions.assertEquals("secondLong", second);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(first, handler.getTableName("first"));
+            Assertions.assertSame(second, handler.getTableName("second"));
+        }
+    }
+}
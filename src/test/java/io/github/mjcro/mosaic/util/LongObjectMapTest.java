@@ -0,0 +1,115 @@
+package io.github.mjcro.mosaic.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectMapTest {
+    @Test
+    public void testPutAndGet() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        HashMap<Long, String> expected = new HashMap<>();
+        for (long i = -500; i < 500; i++) {
+            long key = i * 1024; // Keys sharing low bits
+            Assertions.assertNull(map.put(key, "v" + i));
+            expected.put(key, "v" + i);
+        }
+        Assertions.assertEquals("v7", map.put(7 * 1024, "x"));
+        expected.put(7L * 1024, "x");
+
+        Assertions.assertEquals(1000, map.size());
+        Assertions.assertEquals("x", map.get(7 * 1024));
+        Assertions.assertEquals("v0", map.get(0));
+        Assertions.assertNull(map.get(1));
+        Assertions.assertFalse(map.containsKey(1));
+        Assertions.assertEquals(expected, map.asMap());
+        Assertions.assertEquals(expected, LongObjectMap.copyOf(expected).asMap());
+
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        Assertions.assertEquals(-500 * 1024, keys[0]);
+        Assertions.assertEquals(499 * 1024, keys[keys.length - 1]);
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        LongObjectMap<StringBuilder> map = new LongObjectMap<>();
+        map.computeIfAbsent(5, key -> new StringBuilder()).append("a");
+        map.computeIfAbsent(5, key -> new StringBuilder()).append("b");
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("ab", map.get(5).toString());
+
+        Map<Long, StringBuilder> view = map.asMap();
+        Assertions.assertTrue(view.containsKey(5L));
+        Assertions.assertFalse(view.containsKey("5"));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(6, null));
+    }
+
+    @Test
+    public void testRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        HashMap<Long, String> expected = new HashMap<>();
+        for (long i = 0; i < 300; i++) {
+            map.put(i * 1024, "v" + i);
+            expected.put(i * 1024, "v" + i);
+        }
+        for (long i = 0; i < 300; i += 3) {
+            Assertions.assertEquals("v" + i, map.remove(i * 1024));
+            expected.remove(i * 1024);
+        }
+        Assertions.assertNull(map.remove(1));
+        Assertions.assertEquals(200, map.size());
+        Assertions.assertEquals(expected, map.asMap());
+        for (Long key : expected.keySet()) {
+            Assertions.assertTrue(map.containsKey(key));
+        }
+
+        Map<Long, String> view = map.asMap();
+        Assertions.assertEquals("v1", view.remove(1024L));
+        Assertions.assertNull(view.remove("2048"));
+        view.entrySet().iterator().next().setValue("x");
+        Assertions.assertTrue(map.asMap().containsValue("x"));
+        view.clear();
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(map.get(2048));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            LongObjectMap<Long> map = new LongObjectMap<>(random.nextInt(8));
+            HashMap<Long, Long> expected = new HashMap<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                long key = random.nextInt(64) * 16L; // Dense clusters, wrapping over table end
+                map.put(key, key);
+                expected.put(key, key);
+            }
+
+            HashMap<Long, Long> original = new HashMap<>(expected);
+            HashMap<Long, Long> visited = new HashMap<>();
+            Iterator<Map.Entry<Long, Long>> iterator = map.asMap().entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Long> entry = iterator.next();
+                Assertions.assertNull(visited.put(entry.getKey(), entry.getValue()));
+                if (random.nextBoolean()) {
+                    iterator.remove();
+                    expected.remove(entry.getKey());
+                }
+            }
+            Assertions.assertEquals(original, visited);
+            Assertions.assertEquals(expected, map.asMap());
+        }
+    }
+
+    @Test
+    public void testDistinct() {
+        Assertions.assertArrayEquals(new long[]{1, 2, 5}, LongArrays.distinct(new long[]{5, 1, 2, 5, 1}));
+        Assertions.assertArrayEquals(new long[0], LongArrays.distinct(new long[0]));
+    }
+}
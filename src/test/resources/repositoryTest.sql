@@ -16,6 +16,17 @@ CREATE TABLE `unitTestStringPersistent`
     `value`        varchar(100)   not null
 );
 
+CREATE TABLE `unitTestStringPersistentModified`
+(
+    `id`           int            not null auto_increment primary key,
+    `linkId`       bigint         not null,
+    `typeId`       smallint       not null,
+    `active`       tinyint        not null,
+    `created`      bigint         not null,
+    `modified`     bigint         not null,
+    `value`        varchar(100)   not null
+);
+
 CREATE TABLE `unitTestLong`
 (
     `id`     int      not null auto_increment primary key,